@@ -0,0 +1,61 @@
+package poussecafe.maven.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import poussecafe.source.model.SourceModel;
+
+/**
+ * <p>Measures the generation of core classes and internal storage adapters of a model in an empty source
+ * directory, as done by <code>import-process</code> goal.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class CodeGenerationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int aggregates;
+
+    private SourceModel model;
+
+    private Path sourceDirectory;
+
+    @Setup(Level.Trial)
+    public void buildModel() {
+        model = SyntheticDomain.model(aggregates);
+    }
+
+    @Setup(Level.Invocation)
+    public void createSourceDirectory() throws IOException {
+        sourceDirectory = Files.createTempDirectory("pousse-cafe-benchmark");
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteSourceDirectory() throws IOException {
+        SyntheticDomain.delete(sourceDirectory);
+    }
+
+    @Benchmark
+    public Path generate() {
+        SyntheticDomain.generate(model, sourceDirectory);
+        return sourceDirectory;
+    }
+}
@@ -0,0 +1,71 @@
+package poussecafe.maven.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import poussecafe.source.analysis.SourceModelBuilder;
+import poussecafe.source.emil.EmilExporter;
+import poussecafe.source.emil.parser.TreeAnalyzer;
+import poussecafe.source.emil.parser.TreeParser;
+import poussecafe.source.model.SourceModel;
+
+/**
+ * <p>Measures EMIL export of a model built from sources and the parsing and analysis of the exported EMIL, as done
+ * by <code>export-process</code> and <code>import-process</code> goals.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class EmilBenchmark {
+
+    private SourceModel model;
+
+    private byte[] emil;
+
+    @Setup(Level.Trial)
+    public void buildModel(SyntheticSources sources) throws IOException {
+        var builder = new SourceModelBuilder();
+        builder.includeTree(sources.sourceDirectory);
+        model = builder.build();
+        emil = exporter().toEmil().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private EmilExporter exporter() {
+        return new EmilExporter.Builder()
+                .model(model)
+                .processName(Optional.empty())
+                .build();
+    }
+
+    @Benchmark
+    public String export() {
+        return exporter().toEmil();
+    }
+
+    @Benchmark
+    public SourceModel parseAndAnalyze() throws IOException {
+        var tree = TreeParser.parseInputStream(new ByteArrayInputStream(emil));
+        var analyzer = new TreeAnalyzer.Builder()
+                .tree(tree)
+                .basePackage(SyntheticDomain.BASE_PACKAGE)
+                .build();
+        analyzer.analyze();
+        return analyzer.model();
+    }
+}
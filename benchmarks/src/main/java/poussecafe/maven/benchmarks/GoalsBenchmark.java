@@ -0,0 +1,187 @@
+package poussecafe.maven.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.project.MavenProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import poussecafe.maven.ModelOperations;
+import poussecafe.maven.SourceAnalysisConfiguration;
+import poussecafe.maven.ValidationConfiguration;
+import poussecafe.storage.internal.InternalStorage;
+
+import static poussecafe.maven.benchmarks.PluginComponents.LOG;
+
+/**
+ * <p>Measures the work of <code>validate</code>, <code>list-processes</code> and <code>export-process</code> goals
+ * (exporting each process in its own file) through <code>ValidationOperations</code> and <code>ModelOperations</code>
+ * entry points, including source and classpath indexing, caches and persisted state.</p>
+ *
+ * <p>With <code>cold</code> state, each execution starts with new components and no persisted state, like a first
+ * build. With <code>warm</code> state, components and persisted state are kept between executions while sources do
+ * not change, like successive builds run by a Maven daemon. Each execution works on a new project, as each build
+ * does.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class GoalsBenchmark {
+
+    @Param({"cold", "warm"})
+    public String state;
+
+    private Callable<Object> validate;
+
+    private Callable<Object> listProcesses;
+
+    private Callable<Object> exportProcesses;
+
+    private Path baseDirectory;
+
+    @Setup(Level.Trial)
+    public void createGoals(SyntheticClasses classes) throws ReflectiveOperationException, IOException {
+        baseDirectory = Files.createTempDirectory("pousse-cafe-benchmark-goals");
+        var warm = state.equals("warm");
+        validate = classes.isolatedTask(ValidateGoal.class, baseDirectory.resolve("validate"),
+                classes.sourceDirectory, classes.classesDirectory, warm);
+        listProcesses = classes.isolatedTask(ListProcessesGoal.class, baseDirectory.resolve("list-processes"),
+                classes.sourceDirectory, classes.classesDirectory, warm);
+        exportProcesses = classes.isolatedTask(ExportProcessesGoal.class, baseDirectory.resolve("export-process"),
+                classes.sourceDirectory, classes.classesDirectory, warm);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteState() throws IOException {
+        SyntheticDomain.delete(baseDirectory);
+    }
+
+    @Benchmark
+    public Object validate() throws Exception {
+        return validate.call();
+    }
+
+    @Benchmark
+    public Object listProcesses() throws Exception {
+        return listProcesses.call();
+    }
+
+    @Benchmark
+    public Object exportProcesses() throws Exception {
+        return exportProcesses.call();
+    }
+
+    public abstract static class Goal implements Callable<Object> {
+
+        protected Goal(String name, Path baseDirectory, Path sourceDirectory, Path classesDirectory, Boolean warm) {
+            this.name = name;
+            this.baseDirectory = baseDirectory;
+            this.sourceDirectory = sourceDirectory;
+            this.classesDirectory = classesDirectory;
+            this.warm = warm;
+        }
+
+        private String name;
+
+        private Path baseDirectory;
+
+        protected Path sourceDirectory;
+
+        private Path classesDirectory;
+
+        private boolean warm;
+
+        private PluginComponents components;
+
+        @Override
+        public Object call() throws Exception {
+            if(components == null || !warm) {
+                if(Files.exists(baseDirectory)) {
+                    SyntheticDomain.delete(baseDirectory);
+                }
+                Files.createDirectories(baseDirectory);
+                components = new PluginComponents();
+            }
+
+            var project = PluginComponents.project(baseDirectory, sourceDirectory, classesDirectory);
+            try(var recording = components.phaseRecorder.start(LOG, name, project, false)) {
+                return execute(components, project);
+            }
+        }
+
+        protected abstract Object execute(PluginComponents components, MavenProject project) throws Exception;
+
+        protected SourceAnalysisConfiguration sourceAnalysisConfiguration() {
+            return SourceAnalysisConfiguration.builder()
+                    .sourcesCacheDirectory(baseDirectory.resolve("sources-cache").toFile())
+                    .build();
+        }
+
+        protected Path outputDirectory() {
+            return baseDirectory.resolve("output");
+        }
+    }
+
+    public static class ValidateGoal extends Goal {
+
+        public ValidateGoal(Path baseDirectory, Path sourceDirectory, Path classesDirectory, Boolean warm) {
+            super("validate", baseDirectory, sourceDirectory, classesDirectory, warm);
+        }
+
+        @Override
+        protected Object execute(PluginComponents components, MavenProject project) throws Exception {
+            var configuration = ValidationConfiguration.builder()
+                    .basePackages(List.of(SyntheticDomain.BASE_PACKAGE))
+                    .storageAdapters(List.of(InternalStorage.NAME))
+                    .incremental(true)
+                    .build();
+            return components.validationOperations.validate(LOG, configuration, List.of(sourceDirectory),
+                    List.of(project), components.descriptor, ModelOperations.stateDirectory(project));
+        }
+    }
+
+    public static class ListProcessesGoal extends Goal {
+
+        public ListProcessesGoal(Path baseDirectory, Path sourceDirectory, Path classesDirectory, Boolean warm) {
+            super("list-processes", baseDirectory, sourceDirectory, classesDirectory, warm);
+        }
+
+        @Override
+        protected Object execute(PluginComponents components, MavenProject project) throws Exception {
+            return components.modelOperations.processNames(LOG, project, List.of(project),
+                    sourceAnalysisConfiguration());
+        }
+    }
+
+    public static class ExportProcessesGoal extends Goal {
+
+        public ExportProcessesGoal(Path baseDirectory, Path sourceDirectory, Path classesDirectory, Boolean warm) {
+            super("export-process", baseDirectory, sourceDirectory, classesDirectory, warm);
+        }
+
+        @Override
+        protected Object execute(PluginComponents components, MavenProject project) throws Exception {
+            var model = components.modelOperations.buildModelFromSource(LOG, project, sourceAnalysisConfiguration());
+            components.modelOperations.exportProcesses(LOG, model, Optional.empty(), outputDirectory().toFile(), 0);
+            return model;
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package poussecafe.maven.benchmarks;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.List;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.plugin.logging.SystemStreamLog;
+import org.apache.maven.project.MavenProject;
+import poussecafe.maven.ClassPathConfigurator;
+import poussecafe.maven.ModelOperations;
+import poussecafe.maven.PhaseRecorder;
+import poussecafe.maven.SourceModelCache;
+import poussecafe.maven.ValidationOperations;
+
+/**
+ * <p>Plugin's components wired by hand the way the plugin's container does, so that goals' work can be measured
+ * through the same entry points, with the same indexes, caches and persisted state.</p>
+ */
+public class PluginComponents {
+
+    public PluginComponents() throws ReflectiveOperationException {
+        phaseRecorder = new PhaseRecorder();
+
+        modelOperations = new ModelOperations();
+        inject(modelOperations, "sourceModelCache", new SourceModelCache());
+        inject(modelOperations, "phaseRecorder", phaseRecorder);
+
+        var classPathConfigurator = new ClassPathConfigurator();
+        inject(classPathConfigurator, "phaseRecorder", phaseRecorder);
+
+        validationOperations = new ValidationOperations();
+        inject(validationOperations, "modelOperations", modelOperations);
+        inject(validationOperations, "classPathConfigurator", classPathConfigurator);
+        inject(validationOperations, "phaseRecorder", phaseRecorder);
+
+        descriptor = new PluginDescriptor();
+        descriptor.setArtifacts(List.of());
+    }
+
+    private static void inject(Object component, String fieldName, Object value) throws ReflectiveOperationException {
+        var field = component.getClass().getDeclaredField(fieldName);
+        field.setAccessible(true);
+        field.set(component, value);
+    }
+
+    public final PhaseRecorder phaseRecorder;
+
+    public final ModelOperations modelOperations;
+
+    public final ValidationOperations validationOperations;
+
+    /**
+     * The descriptor of a plugin without dependencies of its own: only projects' classpath is indexed.
+     */
+    public final PluginDescriptor descriptor;
+
+    /**
+     * @param baseDirectory The directory of the project, its build directory is in it.
+     * @param sourceDirectory The only source root of the project.
+     * @param classesDirectory The output directory of the project, i.e. its compile and runtime classpath.
+     */
+    public static MavenProject project(Path baseDirectory, Path sourceDirectory, Path classesDirectory) {
+        var project = new MavenProject();
+        project.setFile(new File(baseDirectory.toFile(), "pom.xml"));
+        project.getBuild().setDirectory(baseDirectory.resolve("target").toString());
+        project.getBuild().setOutputDirectory(classesDirectory.toString());
+        project.addCompileSourceRoot(sourceDirectory.toString());
+        return project;
+    }
+
+    /**
+     * A log only reporting warnings and errors, so that listed processes and validation messages do not flood
+     * benchmarks' output.
+     */
+    public static final Log LOG = new SystemStreamLog() {
+        @Override
+        public boolean isInfoEnabled() {
+            return false;
+        }
+
+        @Override
+        public void info(CharSequence content) {
+            // Not reported
+        }
+    };
+}
@@ -0,0 +1,111 @@
+package poussecafe.maven.benchmarks;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import poussecafe.maven.SourceAnalysisConfiguration;
+
+import static poussecafe.maven.benchmarks.PluginComponents.LOG;
+
+/**
+ * <p>Reports, for synthetic domains of 10, 100 and 1000 aggregates (or the sizes given as arguments), the heap still
+ * used after garbage collection once a goal built a model from sources through the plugin, with <code>lowMemory</code>
+ * off then on. The project and the plugin's components are kept alive after the goal, as Maven keeps them for the
+ * rest of the session (and a Maven daemon for later builds), so that the heap they retain is accounted.</p>
+ *
+ * <p>Components are wired by hand the way the plugin's container does, see {@link PluginComponents}. Run with
+ * <code>java -cp target/benchmarks.jar poussecafe.maven.benchmarks.RetainedHeapReport</code>.</p>
+ */
+public class RetainedHeapReport {
+
+    public static void main(String[] args) throws Exception {
+        List<Integer> sizes = new ArrayList<>();
+        for(String arg : args) {
+            sizes.add(Integer.parseInt(arg));
+        }
+        if(sizes.isEmpty()) {
+            sizes.addAll(List.of(10, 100, 1000));
+        }
+
+        warmUp();
+        System.out.println(String.format("%12s %24s %24s", "aggregates", "default (bytes)", "lowMemory (bytes)"));
+        for(int aggregates : sizes) {
+            var sourceDirectory = SyntheticDomain.createSources(aggregates);
+            try {
+                var defaultHeap = retainedHeap(sourceDirectory, false);
+                var lowMemoryHeap = retainedHeap(sourceDirectory, true);
+                System.out.println(String.format("%12d %24d %24d", aggregates, defaultHeap, lowMemoryHeap));
+            } finally {
+                SyntheticDomain.delete(sourceDirectory);
+            }
+        }
+    }
+
+    /**
+     * Loads and initializes plugin and analysis classes so that their static state is not accounted to the first
+     * goal execution.
+     */
+    private static void warmUp() throws Exception {
+        var sourceDirectory = SyntheticDomain.createSources(1);
+        try {
+            retainedHeap(sourceDirectory, false);
+        } finally {
+            SyntheticDomain.delete(sourceDirectory);
+        }
+    }
+
+    private static long retainedHeap(Path sourceDirectory, boolean lowMemory) throws Exception {
+        var baseDirectory = Files.createTempDirectory("pousse-cafe-benchmark-project");
+        var sourcesCacheDirectory = Files.createTempDirectory("pousse-cafe-benchmark-sources");
+        try {
+            var components = new PluginComponents();
+            var project = PluginComponents.project(baseDirectory, sourceDirectory,
+                    baseDirectory.resolve("target/classes"));
+            var configuration = SourceAnalysisConfiguration.builder()
+                    .sourcesCacheDirectory(sourcesCacheDirectory.toFile())
+                    .lowMemory(lowMemory)
+                    .build();
+
+            var baseline = usedHeapAfterGc();
+            executeGoal(components, project, configuration);
+            var retainedHeap = usedHeapAfterGc() - baseline;
+            Reference.reachabilityFence(components);
+            Reference.reachabilityFence(project);
+            return retainedHeap;
+        } finally {
+            SyntheticDomain.delete(baseDirectory);
+            SyntheticDomain.delete(sourcesCacheDirectory);
+        }
+    }
+
+    /**
+     * Does what <code>list-processes</code> does when sources were never analyzed before.
+     */
+    private static void executeGoal(PluginComponents components, MavenProject project,
+            SourceAnalysisConfiguration configuration) throws MojoExecutionException {
+        try(var recording = components.phaseRecorder.start(LOG, "list-processes", project, false)) {
+            var model = components.modelOperations.buildModelFromSource(LOG, project, configuration);
+            components.modelOperations.listProcesses(LOG, model);
+        }
+    }
+
+    private static long usedHeapAfterGc() {
+        var memory = ManagementFactory.getMemoryMXBean();
+        for(int i = 0; i < GC_RUNS; ++i) {
+            memory.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static final int GC_RUNS = 3;
+
+    private RetainedHeapReport() {
+
+    }
+}
@@ -0,0 +1,32 @@
+package poussecafe.maven.benchmarks;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import poussecafe.source.analysis.SourceModelBuilder;
+import poussecafe.source.model.SourceModel;
+
+/**
+ * <p>Measures the building of a model from sources, as done by <code>ModelOperations.buildModelFromSource</code>
+ * when no cached model is available.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class SourceAnalysisBenchmark {
+
+    @Benchmark
+    public SourceModel buildModelFromSource(SyntheticSources sources) throws IOException {
+        var builder = new SourceModelBuilder();
+        builder.includeTree(sources.sourceDirectory);
+        return builder.build();
+    }
+}
@@ -0,0 +1,92 @@
+package poussecafe.maven.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import javax.tools.ToolProvider;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * <p>Compiled classes of a synthetic domain, compiled once per trial, and a class loader providing them along with
+ * the plugin and its dependencies, like the plugin's class realm once a project's classpath was added to it. Tasks
+ * run with this class loader resolve the classes of the domain the way goals do.</p>
+ *
+ * <p>Compiling requires benchmarks to be run with a JDK.</p>
+ */
+@State(Scope.Benchmark)
+public class SyntheticClasses {
+
+    public Path sourceDirectory;
+
+    public Path classesDirectory;
+
+    private URLClassLoader classLoader;
+
+    @Setup(Level.Trial)
+    public void compile(SyntheticSources sources) throws IOException {
+        sourceDirectory = sources.sourceDirectory;
+        classesDirectory = Files.createTempDirectory("pousse-cafe-benchmark-classes");
+
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        if(compiler == null) {
+            throw new IllegalStateException("No Java compiler available, benchmarks must be run with a JDK");
+        }
+        var classPath = System.getProperty("java.class.path");
+        List<String> arguments = new ArrayList<>(List.of("-proc:none", "-nowarn",
+                "-d", classesDirectory.toString(),
+                "-cp", classPath));
+        try(var stream = Files.walk(sourceDirectory)) {
+            arguments.addAll(stream.map(Path::toString)
+                    .filter(path -> path.endsWith(".java"))
+                    .collect(Collectors.toList()));
+        }
+        if(compiler.run(null, null, null, arguments.toArray(new String[0])) != 0) {
+            throw new IllegalStateException("Unable to compile synthetic domain in " + sourceDirectory);
+        }
+
+        List<URL> urls = new ArrayList<>();
+        for(String element : classPath.split(File.pathSeparator)) {
+            urls.add(Path.of(element).toUri().toURL());
+        }
+        urls.add(classesDirectory.toUri().toURL());
+        classLoader = new URLClassLoader(urls.toArray(new URL[0]), ClassLoader.getPlatformClassLoader());
+    }
+
+    /**
+     * @param taskClass A task with a single public constructor whose parameters are JDK types.
+     * @return A task of given class, loaded by the class loader providing domain's classes and run with it as
+     *         context class loader.
+     */
+    public Callable<Object> isolatedTask(Class<? extends Callable<Object>> taskClass, Object... arguments)
+            throws ReflectiveOperationException {
+        var isolatedTaskClass = classLoader.loadClass(taskClass.getName());
+        var task = (Callable<?>) isolatedTaskClass.getConstructors()[0].newInstance(arguments);
+        return () -> {
+            var thread = Thread.currentThread();
+            var contextClassLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(classLoader);
+            try {
+                return task.call();
+            } finally {
+                thread.setContextClassLoader(contextClassLoader);
+            }
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteClasses() throws IOException {
+        classLoader.close();
+        SyntheticDomain.delete(classesDirectory);
+    }
+}
@@ -0,0 +1,139 @@
+package poussecafe.maven.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import poussecafe.source.analysis.ClassLoaderClassResolver;
+import poussecafe.source.analysis.ClassName;
+import poussecafe.source.analysis.SafeClassName;
+import poussecafe.source.generation.CoreCodeGenerator;
+import poussecafe.source.generation.internal.InternalStorageAdaptersCodeGenerator;
+import poussecafe.source.model.Aggregate;
+import poussecafe.source.model.Command;
+import poussecafe.source.model.DomainEvent;
+import poussecafe.source.model.Message;
+import poussecafe.source.model.MessageListener;
+import poussecafe.source.model.MessageListenerContainer;
+import poussecafe.source.model.MessageListenerContainerType;
+import poussecafe.source.model.ProcessModel;
+import poussecafe.source.model.ProducedEvent;
+import poussecafe.source.model.SourceModel;
+import poussecafe.source.model.SourceModelBuilder;
+
+/**
+ * <p>Synthetic domain made of a given number of aggregates, each in its own package. The code of the domain is
+ * generated the same way <code>add-aggregate</code> and <code>import-process</code> goals do, with internal storage
+ * adapters.</p>
+ *
+ * <p>Each aggregate comes with a process, a creation command and a creation event. Aggregate i is created by its
+ * factory when its command is received and, for all aggregates but the first, when the creation event of aggregate
+ * i-1 is received. Processes are therefore chained by their events the way a real domain's processes are.</p>
+ */
+public class SyntheticDomain {
+
+    public static final String BASE_PACKAGE = "benchmark.domain";
+
+    public static SourceModel model(int aggregates) {
+        var builder = new SourceModelBuilder();
+        for(int i = 0; i < aggregates; ++i) {
+            var name = aggregateName(i);
+            var packageName = BASE_PACKAGE + ".aggregate" + i;
+            builder.putAggregate(new Aggregate.Builder()
+                .name(name)
+                .className(new SafeClassName.Builder()
+                        .rootClassName(new ClassName(packageName, name))
+                        .appendPathElement("Root")
+                        .build()));
+
+            var processName = "Process" + i;
+            builder.putProcess(new ProcessModel.Builder()
+                .name(processName)
+                .packageName(BASE_PACKAGE + ".process")
+                .build());
+            builder.putCommand(new Command.Builder()
+                .name(commandName(i))
+                .packageName(packageName + ".commands")
+                .build());
+            builder.putEvent(new DomainEvent.Builder()
+                .name(eventName(i))
+                .packageName(packageName + ".events")
+                .build());
+
+            builder.putMessageListener(factoryListener(i, "create", Message.command(commandName(i)), processName));
+            if(i > 0) {
+                builder.putMessageListener(factoryListener(i, "createAfter",
+                        Message.domainEvent(eventName(i - 1)), processName));
+            }
+        }
+        return builder.build();
+    }
+
+    private static String aggregateName(int i) {
+        return "Aggregate" + i;
+    }
+
+    private static String commandName(int i) {
+        return "Create" + aggregateName(i);
+    }
+
+    private static String eventName(int i) {
+        return aggregateName(i) + "Created";
+    }
+
+    private static MessageListener factoryListener(int i, String methodPrefix, Message consumedMessage,
+            String processName) {
+        var name = aggregateName(i);
+        return new MessageListener.Builder()
+            .withContainer(new MessageListenerContainer.Builder()
+                    .type(MessageListenerContainerType.INNER_FACTORY)
+                    .containerIdentifier(name + ".Factory")
+                    .aggregateName(name)
+                    .build())
+            .withMethodName(methodPrefix + name)
+            .withConsumedMessage(consumedMessage)
+            .withProcessNames(List.of(processName))
+            .withProducedEvent(new ProducedEvent.Builder()
+                    .message(Message.domainEvent(eventName(i)))
+                    .required(true)
+                    .build())
+            .build();
+    }
+
+    public static void generate(SourceModel model, Path sourceDirectory) {
+        var coreGenerator = new CoreCodeGenerator.Builder()
+                .sourceDirectory(sourceDirectory)
+                .classResolver(new ClassLoaderClassResolver())
+                .build();
+        coreGenerator.generate(model);
+
+        var adaptersGenerator = new InternalStorageAdaptersCodeGenerator.Builder()
+                .sourceDirectory(sourceDirectory)
+                .build();
+        for(Aggregate aggregate : model.aggregates()) {
+            adaptersGenerator.generate(aggregate);
+        }
+    }
+
+    public static Path createSources(int aggregates) throws IOException {
+        var sourceDirectory = Files.createTempDirectory("pousse-cafe-benchmark");
+        generate(model(aggregates), sourceDirectory);
+        return sourceDirectory;
+    }
+
+    public static void delete(Path directory) throws IOException {
+        List<Path> paths;
+        try(var stream = Files.walk(directory)) {
+            paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+        }
+        for(Path path : paths) {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private SyntheticDomain() {
+
+    }
+}
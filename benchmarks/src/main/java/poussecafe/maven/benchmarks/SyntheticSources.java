@@ -0,0 +1,32 @@
+package poussecafe.maven.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * <p>Sources of a synthetic domain, generated once per trial.</p>
+ */
+@State(Scope.Benchmark)
+public class SyntheticSources {
+
+    @Param({"10", "100", "1000"})
+    public int aggregates;
+
+    public Path sourceDirectory;
+
+    @Setup(Level.Trial)
+    public void createSources() throws IOException {
+        sourceDirectory = SyntheticDomain.createSources(aggregates);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteSources() throws IOException {
+        SyntheticDomain.delete(sourceDirectory);
+    }
+}
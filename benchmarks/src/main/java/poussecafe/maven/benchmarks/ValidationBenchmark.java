@@ -0,0 +1,67 @@
+package poussecafe.maven.benchmarks;
+
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import poussecafe.source.analysis.ClassLoaderClassResolver;
+import poussecafe.source.validation.ValidationModelBuilder;
+import poussecafe.source.validation.Validator;
+import poussecafe.source.validation.types.InteralStorageTypesValidator;
+
+/**
+ * <p>Measures the validation of sources without classpath exploration, as done by <code>validate</code> goal when
+ * no base package is configured. Classes referenced by the sources, including the ones of the domain itself, are
+ * resolved against the compiled domain.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@State(Scope.Benchmark)
+public class ValidationBenchmark {
+
+    private Callable<Object> validation;
+
+    @Setup(Level.Trial)
+    public void createValidation(SyntheticClasses classes) throws ReflectiveOperationException {
+        validation = classes.isolatedTask(Validation.class, classes.sourceDirectory);
+    }
+
+    @Benchmark
+    public Object validate() throws Exception {
+        return validation.call();
+    }
+
+    public static class Validation implements Callable<Object> {
+
+        public Validation(Path sourceDirectory) {
+            this.sourceDirectory = sourceDirectory;
+        }
+
+        private Path sourceDirectory;
+
+        @Override
+        public Object call() throws Exception {
+            var modelBuilder = new ValidationModelBuilder(new ClassLoaderClassResolver());
+            modelBuilder.includeTree(sourceDirectory);
+            var validator = new Validator.Builder()
+                    .model(modelBuilder.build())
+                    .storageTypesValidator(new InteralStorageTypesValidator())
+                    .build();
+            validator.validate();
+            return validator.result();
+        }
+    }
+}
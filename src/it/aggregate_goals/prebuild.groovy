@@ -0,0 +1,14 @@
+/*
+ * Generates a domain of 2 aggregates in each module, aggregates and processes of module-b being numbered after the
+ * ones of module-a.
+ */
+def reactorDirectory = basedir
+aggregates = 2
+basedir = new File(reactorDirectory, 'module-a')
+evaluate(new File(scalingCommon, "generate.groovy"))
+
+firstAggregate = 2
+basedir = new File(reactorDirectory, 'module-b')
+evaluate(new File(scalingCommon, "generate.groovy"))
+basedir = reactorDirectory
+return true
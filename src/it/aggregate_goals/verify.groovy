@@ -0,0 +1,25 @@
+/*
+ * Aggregate goals are executed once, on the reactor's root project, and work on the model of both modules.
+ */
+def stateDirectory = new File(basedir, 'target/pousse-cafe')
+['validate-aggregate', 'list-processes-aggregate', 'export-process-aggregate', 'generate-doc-aggregate'].each {
+    assert new File(stateDirectory, "timings/${it}.json").isFile() : "Goal ${it} did not run on root project"
+}
+['module-a', 'module-b'].each {
+    assert !new File(basedir, "${it}/target/pousse-cafe/timings").exists() : "Aggregate goals ran on ${it}"
+}
+
+def reactorStateDirectory = new File(stateDirectory, 'reactor')
+assert new File(reactorStateDirectory, 'validation-state.properties').isFile()
+
+def expectedProcesses = ['Process0', 'Process1', 'Process2', 'Process3'] as Set
+def processIndex = new Properties()
+new File(reactorStateDirectory, 'process-index.properties').withReader('UTF-8') { processIndex.load(it) }
+assert processIndex.getProperty('processes').split(',') as Set == expectedProcesses
+
+def exportedProcesses = new File(basedir, 'target/processes').list() as Set
+assert exportedProcesses == expectedProcesses.collect { it + '.emil' } as Set
+
+def documentation = new File(basedir, 'target/ddd-doc')
+assert documentation.isDirectory() && documentation.list().length > 0
+return true
@@ -0,0 +1,2 @@
+aggregates = 3
+evaluate(new File(scalingCommon, "generate.groovy"))
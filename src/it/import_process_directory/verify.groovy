@@ -0,0 +1,16 @@
+/*
+ * Only the processes matching emilIncludes are imported.
+ */
+def exportedProcesses = new File(basedir, 'target/processes').list() as Set
+assert exportedProcesses == ['Process0.emil', 'Process1.emil', 'Process2.emil'] as Set
+
+def importedDirectory = new File(basedir, 'target/imported')
+def importedFiles = [] as Set
+importedDirectory.eachFileRecurse(groovy.io.FileType.FILES) { importedFiles << it.name }
+['Process1.java', 'Process2.java', 'CreateAggregate1.java', 'CreateAggregate2.java'].each {
+    assert importedFiles.contains(it) : "${it} was not imported, imported files are ${importedFiles}"
+}
+['Process0.java', 'CreateAggregate0.java'].each {
+    assert !importedFiles.contains(it) : "${it} should not have been imported"
+}
+return true
@@ -0,0 +1,98 @@
+/*
+ * Generates the sources of a synthetic domain made of `aggregates` aggregates, each one in its own package, the
+ * same way add-aggregate and import-process goals do. Each aggregate comes with a process, a creation command and a
+ * creation event. The factory of aggregate i listens to its command and, for all aggregates but the first, to the
+ * creation event of aggregate i-1 so that processes are chained by their events. Expects `basedir` and `aggregates`
+ * to be bound. Aggregates are numbered from `firstAggregate` if bound (e.g. to generate the modules of a reactor
+ * without name clashes), from 0 otherwise.
+ */
+import java.nio.file.Files
+import poussecafe.source.analysis.ClassLoaderClassResolver
+import poussecafe.source.analysis.ClassName
+import poussecafe.source.analysis.SafeClassName
+import poussecafe.source.generation.CoreCodeGenerator
+import poussecafe.source.generation.internal.InternalStorageAdaptersCodeGenerator
+import poussecafe.source.model.Aggregate
+import poussecafe.source.model.Command
+import poussecafe.source.model.DomainEvent
+import poussecafe.source.model.Message
+import poussecafe.source.model.MessageListener
+import poussecafe.source.model.MessageListenerContainer
+import poussecafe.source.model.MessageListenerContainerType
+import poussecafe.source.model.ProcessModel
+import poussecafe.source.model.ProducedEvent
+import poussecafe.source.model.SourceModelBuilder
+
+def basePackage = 'scaling.domain'
+def sourceDirectory = basedir.toPath().resolve('src/main/java')
+if (Files.exists(sourceDirectory)) {
+    sourceDirectory.toFile().deleteDir()
+}
+Files.createDirectories(sourceDirectory)
+
+def aggregateName = { int i -> "Aggregate" + i }
+def commandName = { int i -> "Create" + aggregateName(i) }
+def eventName = { int i -> aggregateName(i) + "Created" }
+def factoryListener = { int i, String methodPrefix, Message consumedMessage, String processName ->
+    new MessageListener.Builder()
+        .withContainer(new MessageListenerContainer.Builder()
+            .type(MessageListenerContainerType.INNER_FACTORY)
+            .containerIdentifier(aggregateName(i) + ".Factory")
+            .aggregateName(aggregateName(i))
+            .build())
+        .withMethodName(methodPrefix + aggregateName(i))
+        .withConsumedMessage(consumedMessage)
+        .withProcessNames([processName])
+        .withProducedEvent(new ProducedEvent.Builder()
+            .message(Message.domainEvent(eventName(i)))
+            .required(true)
+            .build())
+        .build()
+}
+
+def first = binding.hasVariable('firstAggregate') ? firstAggregate : 0
+def modelBuilder = new SourceModelBuilder()
+for (int i = first; i < first + aggregates; ++i) {
+    def name = aggregateName(i)
+    def packageName = basePackage + ".aggregate" + i
+    modelBuilder.putAggregate(new Aggregate.Builder()
+        .name(name)
+        .className(new SafeClassName.Builder()
+            .rootClassName(new ClassName(packageName, name))
+            .appendPathElement("Root")
+            .build()))
+
+    def processName = "Process" + i
+    modelBuilder.putProcess(new ProcessModel.Builder()
+        .name(processName)
+        .packageName(basePackage + ".process")
+        .build())
+    modelBuilder.putCommand(new Command.Builder()
+        .name(commandName(i))
+        .packageName(packageName + ".commands")
+        .build())
+    modelBuilder.putEvent(new DomainEvent.Builder()
+        .name(eventName(i))
+        .packageName(packageName + ".events")
+        .build())
+
+    modelBuilder.putMessageListener(factoryListener(i, "create", Message.command(commandName(i)), processName))
+    if (i > first) {
+        modelBuilder.putMessageListener(factoryListener(i, "createAfter", Message.domainEvent(eventName(i - 1)),
+            processName))
+    }
+}
+def model = modelBuilder.build()
+
+new CoreCodeGenerator.Builder()
+    .sourceDirectory(sourceDirectory)
+    .classResolver(new ClassLoaderClassResolver())
+    .build()
+    .generate(model)
+def adaptersGenerator = new InternalStorageAdaptersCodeGenerator.Builder()
+    .sourceDirectory(sourceDirectory)
+    .build()
+model.aggregates().each { adaptersGenerator.generate(it) }
+
+println "Generated synthetic domain with ${aggregates} aggregates and as many processes"
+return true
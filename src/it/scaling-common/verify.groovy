@@ -0,0 +1,71 @@
+/*
+ * Checks the timings reports written by the goals of a scaling test against budgets and, if `previousSize` is
+ * bound, against the growth of the wall times and peak heaps of the previous scaling test. Expects `basedir` and
+ * `aggregates` to be bound.
+ *
+ * Budgets are read from budgets.properties of the scaling test and may be overridden with system properties
+ * (e.g. -Dscaling.1000.validate.maxWallTimeMillis=60000). Growth is checked with a tolerance given by
+ * scaling.maxGrowthFactor system property (1.5 by default): the ratio of the measures of two sizes must not exceed
+ * the ratio of the sizes multiplied by the tolerance. Small measures are dominated by fixed costs (JVM, Maven, ...) and,
+ * for peak heap, by garbage collection timing: previous measures are floored by scaling.minWallTimeMillis (2000 by
+ * default) and scaling.minPeakHeapBytes (256 MiB by default).
+ */
+import groovy.json.JsonSlurper
+
+def goals = ['validate', 'list-processes', 'export-process', 'import-process', 'generate-doc']
+
+def budgets = new Properties()
+new File(basedir, 'budgets.properties').withInputStream { budgets.load(it) }
+def budget = { String goal, String metric ->
+    def key = "${goal}.${metric}"
+    def value = System.getProperty("scaling.${aggregates}.${key}", budgets.getProperty(key))
+    value == null ? null : value as long
+}
+
+def reports = { File directory ->
+    goals.collectEntries { goal ->
+        def reportFile = new File(directory, "target/pousse-cafe/timings/${goal}.json")
+        if (!reportFile.isFile()) {
+            throw new AssertionError("Missing timings report ${reportFile}")
+        }
+        [(goal): new JsonSlurper().parse(reportFile)]
+    }
+}
+
+def failures = []
+def currentReports = reports(basedir)
+currentReports.each { goal, report ->
+    println "[${aggregates} aggregates] ${goal}: ${report.wallTimeMillis} ms, ${report.peakHeapBytes >> 20} MiB heap"
+    def maxWallTimeMillis = budget(goal, 'maxWallTimeMillis')
+    if (maxWallTimeMillis != null && report.wallTimeMillis > maxWallTimeMillis) {
+        failures << "${goal} took ${report.wallTimeMillis} ms, budget is ${maxWallTimeMillis} ms"
+    }
+    def maxPeakHeapBytes = budget(goal, 'maxPeakHeapBytes')
+    if (maxPeakHeapBytes != null && report.peakHeapBytes > maxPeakHeapBytes) {
+        failures << "${goal} used ${report.peakHeapBytes} bytes of heap, budget is ${maxPeakHeapBytes} bytes"
+    }
+}
+
+if (binding.hasVariable('previousSize')) {
+    def maxGrowthFactor = System.getProperty('scaling.maxGrowthFactor', '1.5') as double
+    def minWallTimeMillis = System.getProperty('scaling.minWallTimeMillis', '2000') as long
+    def minPeakHeapBytes = System.getProperty('scaling.minPeakHeapBytes', '268435456') as long
+    def allowedGrowth = (aggregates / previousSize) * maxGrowthFactor
+    def previousReports = reports(new File(basedir, "../scaling_${previousSize}"))
+    currentReports.each { goal, report ->
+        def previous = previousReports[goal]
+        def timeGrowth = report.wallTimeMillis / Math.max(previous.wallTimeMillis as long, minWallTimeMillis)
+        if (timeGrowth > allowedGrowth) {
+            failures << "${goal} wall time grew ${timeGrowth}x from ${previousSize} to ${aggregates} aggregates, allowed growth is ${allowedGrowth}x"
+        }
+        def heapGrowth = report.peakHeapBytes / Math.max(previous.peakHeapBytes as long, minPeakHeapBytes)
+        if (heapGrowth > allowedGrowth) {
+            failures << "${goal} peak heap grew ${heapGrowth}x from ${previousSize} to ${aggregates} aggregates, allowed growth is ${allowedGrowth}x"
+        }
+    }
+}
+
+if (!failures.isEmpty()) {
+    throw new AssertionError("Scaling budget exceeded:\n- " + failures.join("\n- "))
+}
+return true
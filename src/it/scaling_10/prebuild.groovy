@@ -0,0 +1,2 @@
+aggregates = 10
+evaluate(new File(scalingCommon, "generate.groovy"))
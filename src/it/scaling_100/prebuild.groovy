@@ -0,0 +1,2 @@
+aggregates = 100
+evaluate(new File(scalingCommon, "generate.groovy"))
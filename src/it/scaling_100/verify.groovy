@@ -0,0 +1,3 @@
+aggregates = 100
+previousSize = 10
+evaluate(new File(scalingCommon, "verify.groovy"))
@@ -0,0 +1,2 @@
+aggregates = 1000
+evaluate(new File(scalingCommon, "generate.groovy"))
@@ -0,0 +1,3 @@
+aggregates = 1000
+previousSize = 100
+evaluate(new File(scalingCommon, "verify.groovy"))
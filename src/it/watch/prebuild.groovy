@@ -0,0 +1,37 @@
+/*
+ * Generates a domain of 2 aggregates and, aside, the sources of a third one. Once watch analyzed the initial sources
+ * (i.e. wrote the process index), the sources of the third aggregate and its process are added to the source
+ * directory so that watch analyzes them again.
+ */
+import java.nio.file.Files
+
+def projectDirectory = basedir
+aggregates = 2
+evaluate(new File(scalingCommon, "generate.groovy"))
+
+basedir = new File(projectDirectory, 'target/next')
+aggregates = 3
+evaluate(new File(scalingCommon, "generate.groovy"))
+basedir = projectDirectory
+
+def sourceDirectory = projectDirectory.toPath().resolve('src/main/java')
+def nextSourceDirectory = projectDirectory.toPath().resolve('target/next/src/main/java')
+def processIndex = projectDirectory.toPath().resolve('target/pousse-cafe/process-index.properties')
+Thread.startDaemon('watch-test-sources') {
+    def deadline = System.currentTimeMillis() + 60000
+    while (!Files.exists(processIndex) && System.currentTimeMillis() < deadline) {
+        Thread.sleep(200)
+    }
+    Files.walk(nextSourceDirectory).withCloseable { paths ->
+        paths.each { path ->
+            def target = sourceDirectory.resolve(nextSourceDirectory.relativize(path).toString())
+            if (Files.isDirectory(path)) {
+                Files.createDirectories(target)
+            } else if (!Files.exists(target)) {
+                Files.copy(path, target)
+            }
+        }
+    }
+    println "Added sources of Aggregate2 while watching"
+}
+return true
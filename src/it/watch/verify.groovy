@@ -0,0 +1,9 @@
+def stateDirectory = new File(basedir, 'target/pousse-cafe')
+assert new File(stateDirectory, 'timings/watch.json').isFile()
+
+def processIndex = new Properties()
+new File(stateDirectory, 'process-index.properties').withReader('UTF-8') { processIndex.load(it) }
+def processes = processIndex.getProperty('processes').split(',') as Set
+assert processes == ['Process0', 'Process1', 'Process2'] as Set :
+    "Sources added while watching were not analyzed, last analysis found ${processes}"
+return true
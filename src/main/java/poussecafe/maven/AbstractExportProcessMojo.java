@@ -0,0 +1,66 @@
+package poussecafe.maven;
+
+import java.io.File;
+import java.util.List;
+import java.util.Optional;
+import javax.inject.Inject;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * <p>Base class of the goals exporting processes into
+ * <a href="https://github.com/pousse-cafe/pousse-cafe/wiki/Introduction-to-EMIL" target="_blank">EMIL</a> language.
+ * Holds the parameters selecting the processes and where they are exported.</p>
+ */
+public abstract class AbstractExportProcessMojo extends AbstractSourceAnalysisMojo {
+
+    /**
+     * Exports the processes of the model built from the sources of given projects.
+     */
+    protected void exportProcesses(List<MavenProject> projects) throws MojoExecutionException {
+        if((emilFile == null) == (emilDirectory == null)) {
+            throw new MojoExecutionException("Exactly one of emilFile and emilDirectory must be set");
+        }
+        classPathConfigurator.configureClassPath(projects, descriptor());
+        var model = modelOperations.buildModelFromSource(getLog(), project(), projects,
+                sourceAnalysisConfiguration());
+        if(emilDirectory != null) {
+            modelOperations.exportProcesses(getLog(), model, Optional.ofNullable(processName), emilDirectory,
+                    workers());
+        } else {
+            modelOperations.exportProcess(model, Optional.ofNullable(processName), emilFile);
+        }
+    }
+
+    @Inject
+    private ClassPathConfigurator classPathConfigurator;
+
+    @Inject
+    private ModelOperations modelOperations;
+
+    /**
+     * The name of the process to export. If no name is provided, then all processes are exported.
+     *
+     * @since 0.15
+     */
+    @Parameter(property = "processName")
+    private String processName;
+
+    /**
+     * The path to the output file. Either this parameter or emilDirectory must be set.
+     *
+     * @since 0.17
+     */
+    @Parameter(property = "emilFile")
+    private File emilFile;
+
+    /**
+     * The path to the output directory. If set, each process is exported in its own file named after the process
+     * (e.g. MyProcess.emil) and processes are exported concurrently. Either this parameter or emilFile must be set.
+     *
+     * @since 0.24
+     */
+    @Parameter(property = "emilDirectory")
+    private File emilDirectory;
+}
@@ -0,0 +1,131 @@
+package poussecafe.maven;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import javax.inject.Inject;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import poussecafe.doc.PousseCafeDocGenerationConfiguration;
+
+/**
+ * <p>Base class of the goals generating an expert-readable documentation of the Model. Holds the parameters of the
+ * generated documentation.</p>
+ */
+public abstract class AbstractGenerateDocMojo extends AbstractSourceAnalysisMojo {
+
+    /**
+     * Generates the documentation of the Model built from the sources of given projects.
+     */
+    protected void generateDocFromSource(List<MavenProject> projects) throws MojoExecutionException {
+        classPathConfigurator.configureClassPath(projects, descriptor());
+        var model = modelOperations.pendingModelFromSource(getLog(), project(), projects,
+                sourceAnalysisConfiguration());
+        docOperations.generateDoc(getLog(), model,
+                incremental,
+                buildConfiguration(),
+                configurationValues(),
+                outputDirectory,
+                pdfFileName);
+    }
+
+    private List<String> configurationValues() {
+        return Arrays.asList(domainName, version, outputDirectory.getAbsolutePath(), pdfFileName,
+                customDotExecutable, customFdpExecutable);
+    }
+
+    protected PousseCafeDocGenerationConfiguration buildConfiguration() {
+        return PousseCafeDocGenerationConfiguration.builder()
+                .domainName(domainName)
+                .version(version)
+                .outputDirectory(outputDirectory.getAbsolutePath())
+                .pdfFileName(pdfFileName)
+                .customDotExecutable(Optional.ofNullable(customDotExecutable))
+                .customFdpExecutable(Optional.ofNullable(customFdpExecutable))
+                .build();
+    }
+
+    protected boolean skipDoc() {
+        return Boolean.parseBoolean(skipDoc);
+    }
+
+    @Inject
+    private ClassPathConfigurator classPathConfigurator;
+
+    @Inject
+    private ModelOperations modelOperations;
+
+    @Inject
+    private DocOperations docOperations;
+
+    /**
+     * The name of the domain represented by the Model. The name is essentially used in the title of the document.
+     *
+     * @since 0.6
+     */
+    @Parameter(property = "domainName", required = true)
+    private String domainName;
+
+    /**
+     * The version of the documentation. It is generally synchronized with the version of the source code. The version
+     * is displayed in the subtitle of the document.
+     *
+     * @since 0.6
+     */
+    @Parameter(defaultValue = "${project.version}", property = "version", required = true)
+    private String version;
+
+    /**
+     * The output directory for generated documentation files (HTML, PDF, ...).
+     *
+     * @since 0.6
+     */
+    @Parameter(defaultValue = "${basedir}/target/ddd-doc/", property = "outputDirectory", required = true)
+    private File outputDirectory;
+
+    /**
+     * The path to <a href="http://www.graphviz.org">Graphviz</a> 'dot' executable. Dot is used to generate process
+     * graphs.
+     *
+     * @since 0.7
+     */
+    @Parameter(property = "customDotExecutable")
+    private String customDotExecutable;
+
+    /**
+     * The path to <a href="http://www.graphviz.org">Graphviz</a> 'fdp' executable. Fdp is used to generate relational
+     * graphs (i.e. graphs showing the relation between Entities, Value Objects, ...).
+     *
+     * @since 0.7
+     */
+    @Parameter(property = "customFdpExecutable")
+    private String customFdpExecutable;
+
+    /**
+     * The file name for generated PDF file.
+     *
+     * @since 0.9
+     */
+    @Parameter(defaultValue = "${project.artifactId}-${project.version}.pdf", property = "pdfFileName", required = true)
+    private String pdfFileName;
+
+    /**
+     * Tells not to generate documentation. This flag can be used when the goal execution has been bound to a phase
+     * in the POM but one would like to skip it.
+     *
+     * @since 0.9
+     */
+    @Parameter(property = "skipDoc", required = true, defaultValue = "false")
+    private String skipDoc;
+
+    /**
+     * If true, documentation is not generated again when neither the sources nor the configuration changed since
+     * last generation. True by default.
+     *
+     * @since 0.24
+     */
+    @Parameter(defaultValue = "true", property = "incremental")
+    private boolean incremental;
+}
@@ -0,0 +1,68 @@
+package poussecafe.maven;
+
+import java.util.List;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * <p>Base class of the goals analyzing or generating source code. Holds the parameters shared by all goals and the
+ * projects they work on.</p>
+ */
+public abstract class AbstractPousseCafeMojo extends AbstractMojo {
+
+    /**
+     * The number of workers used to index source files (i.e. to detect the files that changed since last build) and
+     * to analyze source trees (project's source roots, extracted sources dependencies, the source roots of each module
+     * for aggregate goals). Workers are also used to export processes to a directory, to parse EMIL files and to
+     * generate storage adapters (one worker per storage). A source tree is analyzed by a single worker, sources are
+     * validated by a single worker and other code is generated by a single worker. By default, one worker per
+     * available processor is used.
+     *
+     * @since 0.24
+     */
+    @Parameter(defaultValue = "0", property = "workers")
+    private int workers;
+
+    protected int workers() {
+        return workers;
+    }
+
+    /**
+     * If true, a summary of the time spent in each phase of the goal is logged. Whatever the value of this flag, the
+     * summary is written in JSON format to target/pousse-cafe/timings/&lt;goal&gt;.json.
+     *
+     * @since 0.24
+     */
+    @Parameter(defaultValue = "false", property = "reportTimings")
+    private boolean reportTimings;
+
+    protected boolean reportTimings() {
+        return reportTimings;
+    }
+
+    @Parameter(defaultValue = "${project}", readonly = true, required = true)
+    private MavenProject project;
+
+    protected MavenProject project() {
+        return project;
+    }
+
+    @Parameter(defaultValue = "${reactorProjects}", readonly = true)
+    private List<MavenProject> reactorProjects;
+
+    /**
+     * @return The projects of the reactor, aggregate goals work on all of them at once.
+     */
+    protected List<MavenProject> reactorProjects() {
+        return reactorProjects;
+    }
+
+    @Parameter(defaultValue = "${plugin}", readonly = true)
+    private PluginDescriptor descriptor;
+
+    protected PluginDescriptor descriptor() {
+        return descriptor;
+    }
+}
@@ -0,0 +1,43 @@
+package poussecafe.maven;
+
+import java.io.File;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * <p>Base class of the goals building a model from the sources of one or several projects. Holds the parameters
+ * controlling source analysis.</p>
+ */
+public abstract class AbstractSourceAnalysisMojo extends AbstractPousseCafeMojo {
+
+    protected SourceAnalysisConfiguration sourceAnalysisConfiguration() {
+        return SourceAnalysisConfiguration.builder()
+                .workers(workers())
+                .sourcesCacheDirectory(sourcesCacheDirectory)
+                .lowMemory(lowMemory)
+                .build();
+    }
+
+    /**
+     * The directory in which sources dependencies are extracted. Extracted sources are shared by all projects using
+     * the same directory and only extracted again when the archive changes. Extracted sources not used for 30 days are
+     * removed.
+     *
+     * @since 0.24
+     */
+    @Parameter(defaultValue = "${user.home}/.m2/pousse-cafe/sources", property = "sourcesCacheDirectory",
+            required = true)
+    private File sourcesCacheDirectory;
+
+    /**
+     * If true, models built from sources are released as soon as the goal no longer needs them: they are neither
+     * reused by later goals of the session nor by later builds run in the same JVM (e.g. with a Maven daemon). Source
+     * trees are also analyzed by a single builder instead of concurrently, one builder per tree. Lowers the heap
+     * retained by large modules, and the peak heap of modules with several source trees, at the expense of analyzing
+     * sources again and more slowly. The analysis itself (parsing, model representation) is left unchanged. False by
+     * default.
+     *
+     * @since 0.24
+     */
+    @Parameter(defaultValue = "false", property = "lowMemory")
+    private boolean lowMemory;
+}
@@ -0,0 +1,86 @@
+package poussecafe.maven;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import javax.inject.Inject;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.project.MavenProject;
+import poussecafe.storage.internal.InternalStorage;
+
+import static java.util.Arrays.asList;
+
+/**
+ * <p>Base class of the goals validating the source code of one or several projects. Holds the parameters controlling
+ * validation.</p>
+ */
+public abstract class AbstractValidationMojo extends AbstractPousseCafeMojo {
+
+    /**
+     * Validates the source roots of given projects together and reports validation messages.
+     *
+     * @param stateDirectory The directory where validation state is persisted.
+     */
+    protected void validate(List<MavenProject> projects, Path stateDirectory)
+            throws MojoExecutionException, MojoFailureException {
+        classPathConfigurator.configureClassPath(projects, descriptor());
+        List<Path> sourceRoots = new ArrayList<>();
+        for(MavenProject project : projects) {
+            for(String pathName : project.getCompileSourceRoots()) {
+                sourceRoots.add(Path.of(pathName));
+            }
+        }
+
+        var configuration = ValidationConfiguration.builder()
+                .basePackages(asList(basePackages))
+                .storageAdapters(asList(storageAdapters))
+                .incremental(incremental)
+                .workers(workers())
+                .build();
+        var state = validationOperations.validate(getLog(), configuration, sourceRoots, projects, descriptor(),
+                stateDirectory);
+        validationOperations.report(getLog(), state, failOnWarn);
+    }
+
+    @Inject
+    private ClassPathConfigurator classPathConfigurator;
+
+    @Inject
+    private ValidationOperations validationOperations;
+
+    /**
+     * If true, makes the build fail with warnings. False by default.
+     *
+     * @since 0.19
+     */
+    @Parameter(defaultValue = "false")
+    private boolean failOnWarn;
+
+    /**
+     * Base packages used for classpath exploration. No base package implies no classpath exploration (default behavior).
+     *
+     * @since 0.19
+     */
+    @Parameter(defaultValue = "", property = "basePackages")
+    private String[] basePackages;
+
+    /**
+     * List of storage types validators to use. Storage name is used to select them. By default, only internal storage
+     * classes are generated. Currently, supported storage names are: "Internal", "SpringMongo", "SpringJpa".
+     *
+     * @since 0.21
+     */
+    @Parameter(defaultValue = InternalStorage.NAME, property = "storageAdapters", required = true)
+    private String[] storageAdapters;
+
+    /**
+     * If true, sources are not validated again when neither them nor the classpath nor the configuration changed since
+     * last validation. Messages of last validation are reported instead. True by default.
+     *
+     * @since 0.24
+     */
+    @Parameter(defaultValue = "true", property = "incremental")
+    private boolean incremental;
+}
@@ -1,15 +1,14 @@
 package poussecafe.maven;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Optional;
 import javax.inject.Inject;
-import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecutionException;
-import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
-import org.apache.maven.project.MavenProject;
 import poussecafe.source.analysis.ClassName;
 import poussecafe.source.analysis.SafeClassName;
 import poussecafe.source.model.Aggregate;
@@ -38,28 +37,43 @@ import static poussecafe.collection.Collections.asSet;
     requiresDependencyCollection = ResolutionScope.COMPILE_PLUS_RUNTIME,
     requiresDirectInvocation = true
 )
-public class AddAggregateMojo extends AbstractMojo {
+public class AddAggregateMojo extends AbstractSourceAnalysisMojo {
 
     @Override
     public void execute() throws MojoExecutionException {
-        classPathConfigurator.configureClassPath(project, descriptor);
-
-        var currentModel = modelOperations.buildModelFromSource(getLog(), project);
-        var newModel = new SourceModelBuilder()
-            .putAggregate(new Aggregate.Builder()
-                .name(aggregateName)
-                .className(new SafeClassName.Builder()
-                        .rootClassName(new ClassName(aggregatePackage, aggregateName))
-                        .appendPathElement("Root")
-                        .build()))
-            .build();
-        modelOperations.importModel(Optional.of(currentModel), newModel, sourceDirectory,
-                asSet(storageAdapters), Optional.ofNullable(codeFormatterProfile));
+        try(var recording = phaseRecorder.start(getLog(), "add-aggregate", project(), reportTimings())) {
+            classPathConfigurator.configureClassPath(project(), descriptor());
+
+            var newModel = new SourceModelBuilder()
+                .putAggregate(new Aggregate.Builder()
+                    .name(aggregateName)
+                    .className(new SafeClassName.Builder()
+                            .rootClassName(new ClassName(aggregatePackage, aggregateName))
+                            .appendPathElement("Root")
+                            .build()))
+                .build();
+            try(var staging = modelOperations.stage(sourceDirectory, ModelOperations.stateDirectory(project()))) {
+                var currentModel = modelOperations.buildModelFromSource(getLog(), project(),
+                        sourceAnalysisConfiguration(), staging);
+                modelOperations.importModel(getLog(), staging, Optional.of(currentModel), newModel,
+                        classPathConfigurator.classResolver(getLog(), project(), descriptor()), asSet(storageAdapters),
+                        Optional.ofNullable(codeFormatterProfile), workers(), dryRun);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to clean staging of " + sourceDirectory, e);
+            } finally {
+                if(!dryRun) {
+                    modelOperations.invalidateModel(session, project());
+                }
+            }
+        }
     }
 
     @Inject
     private ClassPathConfigurator classPathConfigurator;
 
+    @Inject
+    private PhaseRecorder phaseRecorder;
+
     @Inject
     private ModelOperations modelOperations;
 
@@ -125,9 +139,15 @@ public class AddAggregateMojo extends AbstractMojo {
     @Parameter(defaultValue = "false", property = "demoAttribute", required = true)
     private boolean demoAttribute;
 
-    @Parameter(defaultValue = "${project}", readonly = true)
-    private MavenProject project;
+    /**
+     * If true, code is generated but not written to source directory. Files that would be created or modified are
+     * listed instead.
+     *
+     * @since 0.24
+     */
+    @Parameter(defaultValue = "false", property = "dryRun")
+    private boolean dryRun;
 
-    @Parameter(defaultValue = "${plugin}", readonly = true)
-    private PluginDescriptor descriptor;
+    @Parameter(defaultValue = "${session}", readonly = true)
+    private MavenSession session;
 }
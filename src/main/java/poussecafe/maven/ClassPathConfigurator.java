@@ -1,24 +1,110 @@
 package poussecafe.maven;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import javax.inject.Inject;
+import org.apache.maven.artifact.Artifact;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.classworlds.realm.ClassRealm;
 
 public class ClassPathConfigurator {
 
+    /**
+     * Adds project's runtime classpath to plugin's class realm. Elements already part of the realm as well as
+     * missing elements are skipped. The realm is shared by all the projects of a session, which is why goals are not
+     * thread-safe.
+     */
     public void configureClassPath(MavenProject project, PluginDescriptor descriptor) throws MojoExecutionException {
-        try {
+        try(var phase = phaseRecorder.phase("classpath-configuration")) {
             List<String> runtimeClasspathElements = project.getRuntimeClasspathElements();
+            phase.count("elements", runtimeClasspathElements.size());
             ClassRealm realm = descriptor.getClassRealm();
+            Set<String> realmUrls = new HashSet<>();
+            Arrays.stream(realm.getURLs()).map(URL::toExternalForm).forEach(realmUrls::add);
             for (String element : runtimeClasspathElements) {
                 File elementFile = new File(element);
-                realm.addURL(elementFile.toURI().toURL());
+                URL url = elementFile.toURI().toURL();
+                if(elementFile.exists() && realmUrls.add(url.toExternalForm())) {
+                    realm.addURL(url);
+                }
             }
         } catch (Exception e) {
             throw new MojoExecutionException("Unable to configure classpath", e);
         }
     }
+
+    /**
+     * Adds the runtime classpath of all given projects to plugin's class realm.
+     */
+    public void configureClassPath(List<MavenProject> projects, PluginDescriptor descriptor)
+            throws MojoExecutionException {
+        for(MavenProject project : projects) {
+            configureClassPath(project, descriptor);
+        }
+    }
+
+    @Inject
+    private PhaseRecorder phaseRecorder;
+
+    /**
+     * Indexes the runtime classpath of given projects and plugin's dependencies, i.e. the elements of plugin's class
+     * realm classes of given projects are resolved from, and the packages they provide. Projects' compile classpath
+     * is indexed as well so that its fingerprint may be computed. Only elements that changed since last indexing are
+     * read again.
+     */
+    public ClassPathIndex indexClassPath(Log log, List<MavenProject> projects, PluginDescriptor descriptor,
+            Path indexFile) throws MojoExecutionException {
+        try(var phase = phaseRecorder.phase("classpath-indexing")) {
+            Set<String> elements = new LinkedHashSet<>();
+            for(MavenProject project : projects) {
+                elements.addAll(project.getRuntimeClasspathElements());
+                elements.addAll(project.getCompileClasspathElements());
+            }
+            for(Artifact artifact : descriptor.getArtifacts()) {
+                if(artifact.getFile() != null) {
+                    elements.add(artifact.getFile().getAbsolutePath());
+                }
+            }
+
+            var indexBuilder = new ClassPathIndex.Builder()
+                    .previous(ClassPathIndex.load(indexFile))
+                    .indexPackages(true);
+            for (String element : elements) {
+                indexBuilder.includeElement(element);
+            }
+            var index = indexBuilder.build();
+            try {
+                index.save(indexFile);
+            } catch (IOException e) {
+                log.debug("Unable to save classpath index to " + indexFile + ", it will be rebuilt next time", e);
+            }
+            phase.count("elements", index.elements().size());
+            return index;
+        } catch (IOException | DependencyResolutionRequiredException e) {
+            throw new MojoExecutionException("Unable to index classpath", e);
+        }
+    }
+
+    public static final String CLASSPATH_INDEX_FILE_NAME = "classpath-index.properties";
+
+    /**
+     * @return A resolver of the classes of given project, backed by the index of its classpath (see
+     *         {@link #indexClassPath(Log, List, PluginDescriptor, Path)}) kept in project's state directory.
+     */
+    public IndexedClassResolver classResolver(Log log, MavenProject project, PluginDescriptor descriptor)
+            throws MojoExecutionException {
+        var indexFile = ModelOperations.stateDirectory(project).resolve(CLASSPATH_INDEX_FILE_NAME);
+        return new IndexedClassResolver(indexClassPath(log, List.of(project), descriptor, indexFile));
+    }
 }
@@ -0,0 +1,288 @@
+package poussecafe.maven;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>Persistent index of the elements of a classpath and, when requested, of the packages they provide. An element is
+ * only indexed again when its signature changed: size and modification time for an archive, size and modification
+ * time of all contained files for a directory.</p>
+ */
+public class ClassPathIndex {
+
+    public static Optional<ClassPathIndex> load(Path indexFile) {
+        if(!Files.isRegularFile(indexFile)) {
+            return Optional.empty();
+        }
+        try(Reader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            var properties = new Properties();
+            properties.load(reader);
+            var index = new ClassPathIndex();
+            var elementsCount = Integer.parseInt(properties.getProperty(ELEMENTS_COUNT_KEY));
+            for(int i = 0; i < elementsCount; ++i) {
+                var prefix = "element." + i + ".";
+                var packages = properties.getProperty(prefix + "packages");
+                index.elements.add(new Element(
+                        requireNonNull(properties.getProperty(prefix + "path")),
+                        requireNonNull(properties.getProperty(prefix + "signature")),
+                        Optional.ofNullable(packages).map(ClassPathIndex::parsePackages)));
+            }
+            return Optional.of(index);
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static final String ELEMENTS_COUNT_KEY = "elements";
+
+    private static Set<String> parsePackages(String packages) {
+        return packages.isEmpty() ? Collections.emptySet() : new TreeSet<>(Arrays.asList(packages.split(",")));
+    }
+
+    private static class Element {
+
+        Element(String path, String signature, Optional<Set<String>> packages) {
+            this.path = path;
+            this.signature = signature;
+            this.packages = packages;
+        }
+
+        final String path;
+
+        final String signature;
+
+        /**
+         * Empty if packages were not indexed.
+         */
+        final Optional<Set<String>> packages;
+    }
+
+    private ClassPathIndex() {
+
+    }
+
+    private List<Element> elements = new ArrayList<>();
+
+    public List<String> elements() {
+        return elements.stream()
+                .map(element -> element.path)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return True if at least one element of the classpath provides given package or one of its sub-packages. An
+     *         element whose packages were not indexed is considered as providing any package.
+     */
+    public boolean providesPackageTree(String packageName) {
+        var subPackagesPrefix = packageName + ".";
+        return elements.stream()
+                .anyMatch(element -> element.packages.isEmpty() || element.packages.get().stream()
+                        .anyMatch(candidate -> candidate.equals(packageName)
+                                || candidate.startsWith(subPackagesPrefix)));
+    }
+
+    /**
+     * @return False if given class is known to be provided neither by the classpath nor by the JDK, i.e. if no package
+     *         it may belong to is provided (the name of a nested class being qualified by the name of its enclosing
+     *         class, all prefixes of the name are candidate packages). True otherwise, in particular when an element's
+     *         packages were not indexed.
+     */
+    public boolean mayProvideClass(String qualifiedClassName) {
+        if(elements.stream().anyMatch(element -> element.packages.isEmpty())) {
+            return true;
+        }
+        var packageEnd = qualifiedClassName.lastIndexOf('.');
+        if(packageEnd < 0) {
+            return true;
+        }
+        var packages = packages();
+        while(packageEnd > 0) {
+            var candidatePackage = qualifiedClassName.substring(0, packageEnd);
+            if(packages.contains(candidatePackage) || JDK_PACKAGES.contains(candidatePackage)) {
+                return true;
+            }
+            packageEnd = candidatePackage.lastIndexOf('.');
+        }
+        return false;
+    }
+
+    private synchronized Set<String> packages() {
+        if(packages == null) {
+            packages = new HashSet<>();
+            elements.forEach(element -> element.packages.ifPresent(packages::addAll));
+        }
+        return packages;
+    }
+
+    private Set<String> packages;
+
+    private static final Set<String> JDK_PACKAGES = ModuleLayer.boot().modules().stream()
+            .flatMap(module -> module.getPackages().stream())
+            .collect(Collectors.toSet());
+
+    public String fingerprint() {
+        return fingerprint(elements());
+    }
+
+    /**
+     * @param selectedElements The elements to take into account, an element not part of the index changes the
+     *        fingerprint as a missing element would.
+     * @return A fingerprint of the signature of given elements only, in the order of the index.
+     */
+    public String fingerprint(Collection<String> selectedElements) {
+        var remainingElements = new LinkedHashSet<>(selectedElements);
+        var digest = Digests.sha256();
+        for(Element element : elements) {
+            if(remainingElements.remove(element.path)) {
+                Digests.update(digest, element.path);
+                Digests.update(digest, element.signature);
+            }
+        }
+        for(String element : remainingElements) {
+            Digests.update(digest, element);
+            Digests.update(digest, "unindexed");
+        }
+        return Digests.hex(digest.digest());
+    }
+
+    public void save(Path indexFile) throws IOException {
+        var properties = new Properties();
+        properties.setProperty(ELEMENTS_COUNT_KEY, Integer.toString(elements.size()));
+        for(int i = 0; i < elements.size(); ++i) {
+            var prefix = "element." + i + ".";
+            var element = elements.get(i);
+            properties.setProperty(prefix + "path", element.path);
+            properties.setProperty(prefix + "signature", element.signature);
+            element.packages.ifPresent(packages -> properties.setProperty(prefix + "packages",
+                    String.join(",", packages)));
+        }
+
+        Files.createDirectories(indexFile.getParent());
+        var temporaryFile = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+        try(Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        Files.move(temporaryFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static class Builder {
+
+        private ClassPathIndex index = new ClassPathIndex();
+
+        private Map<String, Element> previousElements = new HashMap<>();
+
+        public Builder previous(Optional<ClassPathIndex> previous) {
+            requireNonNull(previous);
+            previousElements.clear();
+            previous.ifPresent(previousIndex -> previousIndex.elements
+                    .forEach(element -> previousElements.put(element.path, element)));
+            return this;
+        }
+
+        /**
+         * @param indexPackages If true, the packages provided by each element are indexed. Otherwise, only elements'
+         *        signature is computed, which does not require to read archives' content.
+         */
+        public Builder indexPackages(boolean indexPackages) {
+            this.indexPackages = indexPackages;
+            return this;
+        }
+
+        private boolean indexPackages;
+
+        public Builder includeElement(String element) throws IOException {
+            var elementPath = Path.of(element);
+            var signature = signature(elementPath);
+            var previousElement = previousElements.get(element);
+            if(previousElement != null && previousElement.signature.equals(signature)
+                    && (previousElement.packages.isPresent() || !indexPackages)) {
+                index.elements.add(previousElement);
+            } else if(indexPackages) {
+                index.elements.add(new Element(element, signature, Optional.of(packages(elementPath))));
+            } else {
+                index.elements.add(new Element(element, signature, Optional.empty()));
+            }
+            return this;
+        }
+
+        private String signature(Path elementPath) throws IOException {
+            if(Files.isDirectory(elementPath)) {
+                var digest = Digests.sha256();
+                for(Path file : regularFiles(elementPath)) {
+                    Digests.update(digest, elementPath.relativize(file).toString());
+                    Digests.update(digest, attributesSignature(file));
+                }
+                return Digests.hex(digest.digest());
+            } else if(Files.isRegularFile(elementPath)) {
+                return attributesSignature(elementPath);
+            } else {
+                return "missing";
+            }
+        }
+
+        private List<Path> regularFiles(Path directory) throws IOException {
+            try(var stream = Files.walk(directory)) {
+                return stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+        }
+
+        private String attributesSignature(Path file) throws IOException {
+            var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return attributes.size() + "," + attributes.lastModifiedTime().toMillis();
+        }
+
+        private Set<String> packages(Path elementPath) throws IOException {
+            Set<String> packages = new TreeSet<>();
+            if(Files.isDirectory(elementPath)) {
+                for(Path file : regularFiles(elementPath)) {
+                    var relativePath = elementPath.relativize(file);
+                    if(relativePath.toString().endsWith(CLASS_FILE_EXTENSION) && relativePath.getParent() != null) {
+                        packages.add(relativePath.getParent().toString().replace(file.getFileSystem().getSeparator(), "."));
+                    }
+                }
+            } else if(Files.isRegularFile(elementPath)) {
+                try(var zipFile = new ZipFile(elementPath.toFile())) {
+                    zipFile.stream()
+                        .map(ZipEntry::getName)
+                        .filter(name -> name.endsWith(CLASS_FILE_EXTENSION) && name.lastIndexOf('/') > 0)
+                        .map(name -> name.substring(0, name.lastIndexOf('/')).replace('/', '.'))
+                        .forEach(packages::add);
+                } catch (ZipException e) {
+                    // Not an archive, no class provided
+                }
+            }
+            return packages;
+        }
+
+        private static final String CLASS_FILE_EXTENSION = ".class";
+
+        public ClassPathIndex build() {
+            return index;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package poussecafe.maven;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * <p>Runs jobs on a bounded number of threads. A failing job does not prevent other jobs from running, all failures
+ * are reported together once all jobs completed. With a single worker, jobs are run by the submitting thread, in
+ * submission order.</p>
+ *
+ * <p>Jobs must be joined, or the instance closed, so that the threads are released.</p>
+ */
+public class ConcurrentJobs implements AutoCloseable {
+
+    @FunctionalInterface
+    public interface Job {
+
+        void run() throws Exception;
+    }
+
+    public ConcurrentJobs(int workers) {
+        if(workers < 1) {
+            throw new IllegalArgumentException("Workers count must be strictly positive");
+        }
+        if(workers > 1) {
+            executor = Optional.of(Executors.newFixedThreadPool(workers));
+        }
+    }
+
+    private Optional<ExecutorService> executor = Optional.empty();
+
+    public void submit(String description, Job job) {
+        descriptions.add(description);
+        if(executor.isPresent()) {
+            futures.add(executor.get().submit(() -> {
+                job.run();
+                return null;
+            }));
+        } else {
+            futures.add(run(job));
+        }
+    }
+
+    private List<String> descriptions = new ArrayList<>();
+
+    private List<Future<Void>> futures = new ArrayList<>();
+
+    private Future<Void> run(Job job) {
+        var future = new CompletableFuture<Void>();
+        try {
+            job.run();
+            future.complete(null);
+        } catch (Exception e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    public void join(String failureMessage) throws MojoExecutionException {
+        List<String> failures = new ArrayList<>();
+        List<Throwable> causes = new ArrayList<>();
+        try {
+            for(int i = 0; i < futures.size(); ++i) {
+                try {
+                    futures.get(i).get();
+                } catch (ExecutionException e) {
+                    failures.add(descriptions.get(i) + ": " + e.getCause());
+                    causes.add(e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MojoExecutionException("Interrupted while waiting for jobs to complete", e);
+        } finally {
+            close();
+        }
+
+        if(!failures.isEmpty()) {
+            var exception = new MojoExecutionException(failureMessage + ":\n- " + String.join("\n- ", failures));
+            causes.forEach(exception::addSuppressed);
+            throw exception;
+        }
+    }
+
+    /**
+     * Interrupts the jobs still running, if any, and releases the threads.
+     */
+    @Override
+    public void close() {
+        executor.ifPresent(ExecutorService::shutdownNow);
+    }
+}
@@ -0,0 +1,102 @@
+package poussecafe.maven;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import javax.inject.Inject;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.logging.Log;
+import poussecafe.doc.PousseCafeDocGenerationConfiguration;
+import poussecafe.doc.PousseCafeDocGenerator;
+
+public class DocOperations {
+
+    /**
+     * Generates the documentation of given model unless the documentation in output directory was generated from
+     * the same sources and with the same configuration. A fingerprint of the sources and configuration is stored in
+     * output directory after each successful generation. The model is only built if documentation is generated.
+     *
+     * @param incremental If false, documentation is always generated.
+     * @param configurationValues The values of the parameters the documentation depends on.
+     */
+    public void generateDoc(Log log,
+            PendingSourceModel pendingModel,
+            boolean incremental,
+            PousseCafeDocGenerationConfiguration configuration,
+            List<String> configurationValues,
+            File outputDirectory,
+            String pdfFileName) throws MojoExecutionException {
+        var fingerprintFile = outputDirectory.toPath().resolve(FINGERPRINT_FILE_NAME);
+        Optional<String> fingerprint = Optional.empty();
+        if(incremental) {
+            fingerprint = Optional.of(fingerprint(pendingModel.fingerprint(), configurationValues));
+        }
+        if(fingerprint.isPresent()
+                && fingerprint.equals(readFingerprint(fingerprintFile))
+                && Files.isRegularFile(outputDirectory.toPath().resolve(pdfFileName))) {
+            log.info("Model and configuration did not change, documentation is up to date");
+            return;
+        }
+
+        var model = pendingModel.model();
+        deleteFingerprint(log, fingerprintFile);
+        try(var phase = phaseRecorder.phase("doc-generation")) {
+            var generator = PousseCafeDocGenerator.builder()
+                    .configuration(configuration)
+                    .model(model)
+                    .build();
+            generator.generate();
+            phase.count("aggregates", model.aggregates().size())
+                .count("processes", model.processes().size());
+        }
+        if(fingerprint.isPresent()) {
+            writeFingerprint(log, fingerprintFile, fingerprint.get());
+        }
+    }
+
+    @Inject
+    private PhaseRecorder phaseRecorder;
+
+    private static final String FINGERPRINT_FILE_NAME = ".pousse-cafe-doc.fingerprint";
+
+    private String fingerprint(String sourcesFingerprint, List<String> configurationValues) {
+        var digest = Digests.sha256();
+        Digests.update(digest, sourcesFingerprint);
+        for(String value : configurationValues) {
+            Digests.update(digest, value == null ? "" : value);
+        }
+        return Digests.hex(digest.digest());
+    }
+
+    private Optional<String> readFingerprint(Path fingerprintFile) {
+        try {
+            return Optional.of(Files.readString(fingerprintFile, StandardCharsets.UTF_8).trim());
+        } catch (IOException e) {
+            return Optional.empty();
+        }
+    }
+
+    private void deleteFingerprint(Log log, Path fingerprintFile) {
+        try {
+            Files.deleteIfExists(fingerprintFile);
+        } catch (IOException e) {
+            log.warn("Unable to delete " + fingerprintFile + ": " + e.getMessage());
+        }
+    }
+
+    private void writeFingerprint(Log log, Path fingerprintFile, String fingerprint) {
+        try {
+            var temporaryFile = Files.createTempFile(fingerprintFile.getParent(), FINGERPRINT_FILE_NAME, ".tmp");
+            Files.writeString(temporaryFile, fingerprint, StandardCharsets.UTF_8);
+            Files.move(temporaryFile, fingerprintFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Unable to save documentation fingerprint to " + fingerprintFile + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package poussecafe.maven;
+
+import javax.inject.Inject;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+/**
+ * <p>Exports a selected process or all processes of the projects of the reactor into
+ * <a href="https://github.com/pousse-cafe/pousse-cafe/wiki/Introduction-to-EMIL" target="_blank">EMIL</a> language
+ * and outputs the result to a given file.</p>
+ */
+@Mojo(
+    name = "export-process-aggregate",
+    aggregator = true,
+    requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME,
+    requiresDependencyCollection = ResolutionScope.COMPILE_PLUS_RUNTIME
+)
+public class ExportProcessAggregateMojo extends AbstractExportProcessMojo {
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        try(var recording = phaseRecorder.start(getLog(), "export-process-aggregate", project(), reportTimings())) {
+            exportProcesses(reactorProjects());
+        }
+    }
+
+    @Inject
+    private PhaseRecorder phaseRecorder;
+}
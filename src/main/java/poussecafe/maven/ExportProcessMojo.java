@@ -1,16 +1,11 @@
 package poussecafe.maven;
 
-import java.io.File;
-import java.util.Optional;
+import java.util.List;
 import javax.inject.Inject;
-import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
-import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugins.annotations.Mojo;
-import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
-import org.apache.maven.project.MavenProject;
 
 /**
  * <p>Exports a selected process or all processes into
@@ -22,40 +17,15 @@ import org.apache.maven.project.MavenProject;
     requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME,
     requiresDependencyCollection = ResolutionScope.COMPILE_PLUS_RUNTIME
 )
-public class ExportProcessMojo extends AbstractMojo {
+public class ExportProcessMojo extends AbstractExportProcessMojo {
 
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
-        classPathConfigurator.configureClassPath(project, descriptor);
-        var model = modelOperations.buildModelFromSource(getLog(), project);
-        modelOperations.exportProcess(model, Optional.ofNullable(processName), emilFile);
+        try(var recording = phaseRecorder.start(getLog(), "export-process", project(), reportTimings())) {
+            exportProcesses(List.of(project()));
+        }
     }
 
     @Inject
-    private ClassPathConfigurator classPathConfigurator;
-
-    @Inject
-    private ModelOperations modelOperations;
-
-    /**
-     * The name of the process to export. If no name is provided, then all processes are exported.
-     *
-     * @since 0.15
-     */
-    @Parameter(property = "processName")
-    private String processName;
-
-    /**
-     * The path to the output file.
-     *
-     * @since 0.17
-     */
-    @Parameter(property = "emilFile", required = true)
-    private File emilFile;
-
-    @Parameter(defaultValue = "${project}", readonly = true)
-    private MavenProject project;
-
-    @Parameter(defaultValue = "${plugin}", readonly = true)
-    private PluginDescriptor descriptor;
+    private PhaseRecorder phaseRecorder;
 }
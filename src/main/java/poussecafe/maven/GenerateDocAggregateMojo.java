@@ -0,0 +1,34 @@
+package poussecafe.maven;
+
+import javax.inject.Inject;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+/**
+ * <p>Generates an expert-readable documentation of the Model defined by all the projects of the reactor.
+ * The documentation is generated in HTML and as a PDF file.</p>
+ * <p>Documentation is generated by analyzing source code, see <a href="./generate-doc-mojo.html">generate-doc</a>
+ * goal for more details.</p>
+ */
+@Mojo(
+    name = "generate-doc-aggregate",
+    aggregator = true,
+    requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME,
+    requiresDependencyCollection = ResolutionScope.COMPILE_PLUS_RUNTIME
+)
+public class GenerateDocAggregateMojo extends AbstractGenerateDocMojo {
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        try(var recording = phaseRecorder.start(getLog(), "generate-doc-aggregate", project(), reportTimings())) {
+            if(!skipDoc()) {
+                generateDocFromSource(reactorProjects());
+            }
+        }
+    }
+
+    @Inject
+    private PhaseRecorder phaseRecorder;
+}
@@ -1,16 +1,19 @@
 package poussecafe.maven;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import javax.inject.Inject;
-import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
-import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
-import org.apache.maven.project.MavenProject;
 import poussecafe.storage.internal.InternalStorage;
 
 import static poussecafe.collection.Collections.asSet;
@@ -21,6 +24,8 @@ import static poussecafe.collection.Collections.asSet;
  * i.e. generates missing types (aggregate classes, commands, events, adapters, etc.) and methods in the code base.</p>
  *
  * <p>Added method's implementation is initially empty.</p>
+ *
+ * <p>Several processes may be imported at once by providing a directory of EMIL files.</p>
  */
 @Mojo(
     name = "import-process",
@@ -28,30 +33,89 @@ import static poussecafe.collection.Collections.asSet;
     requiresDependencyCollection = ResolutionScope.COMPILE_PLUS_RUNTIME,
     requiresDirectInvocation = true
 )
-public class ImportProcessMojo extends AbstractMojo {
+public class ImportProcessMojo extends AbstractPousseCafeMojo {
 
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
-        classPathConfigurator.configureClassPath(project, descriptor);
-        var newModel = modelOperations.buildModelFromEmil(getLog(), emilFile, basePackage);
-        modelOperations.importModel(Optional.empty(), newModel, sourceDirectory, asSet(storageAdapters),
-                Optional.ofNullable(codeFormatterProfile));
+        try(var recording = phaseRecorder.start(getLog(), "import-process", project(), reportTimings())) {
+            var emilFiles = emilFiles();
+            classPathConfigurator.configureClassPath(project(), descriptor());
+            var newModel = modelOperations.buildModelFromEmil(getLog(), emilFiles, basePackage, workers());
+            try(var staging = modelOperations.stage(sourceDirectory, ModelOperations.stateDirectory(project()))) {
+                modelOperations.importModel(getLog(), staging, Optional.empty(), newModel,
+                        classPathConfigurator.classResolver(getLog(), project(), descriptor()), asSet(storageAdapters),
+                        Optional.ofNullable(codeFormatterProfile), workers(), dryRun);
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to clean staging of " + sourceDirectory, e);
+            } finally {
+                if(!dryRun) {
+                    modelOperations.invalidateModel(session, project());
+                }
+            }
+        }
+    }
+
+    private List<File> emilFiles() throws MojoExecutionException {
+        if((emilFile == null) == (emilDirectory == null)) {
+            throw new MojoExecutionException("Exactly one of emilFile and emilDirectory must be set");
+        }
+        if(emilFile != null) {
+            return List.of(emilFile);
+        }
+
+        var directory = emilDirectory.toPath();
+        var matcher = directory.getFileSystem().getPathMatcher("glob:" + emilIncludes);
+        try(var paths = Files.walk(directory)) {
+            var emilFiles = paths
+                    .filter(Files::isRegularFile)
+                    .filter(path -> matcher.matches(directory.relativize(path)))
+                    .sorted()
+                    .map(Path::toFile)
+                    .collect(Collectors.toList());
+            if(emilFiles.isEmpty()) {
+                throw new MojoExecutionException("No file matching " + emilIncludes + " in " + emilDirectory);
+            }
+            return emilFiles;
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to list files of " + emilDirectory, e);
+        }
     }
 
     @Inject
     private ClassPathConfigurator classPathConfigurator;
 
+    @Inject
+    private PhaseRecorder phaseRecorder;
+
     @Inject
     private ModelOperations modelOperations;
 
     /**
-     * The path to an EMIL file describing the process to import.
+     * The path to an EMIL file describing the process to import. Either this parameter or emilDirectory must be set.
      *
      * @since 0.17
      */
-    @Parameter(property = "emilFile", required = true)
+    @Parameter(property = "emilFile")
     private File emilFile;
 
+    /**
+     * The path to a directory containing EMIL files to import. All files are parsed before any code is generated,
+     * parsing errors of all files are reported together. Either this parameter or emilFile must be set.
+     *
+     * @since 0.24
+     */
+    @Parameter(property = "emilDirectory")
+    private File emilDirectory;
+
+    /**
+     * The glob pattern selecting the files to import in emilDirectory. The pattern is matched against the path of
+     * the files relative to emilDirectory.
+     *
+     * @since 0.24
+     */
+    @Parameter(defaultValue = "**.emil", property = "emilIncludes")
+    private String emilIncludes;
+
     /**
      * The base package for generated code.
      *
@@ -85,9 +149,15 @@ public class ImportProcessMojo extends AbstractMojo {
     @Parameter(property = "codeFormatterProfile")
     private File codeFormatterProfile;
 
-    @Parameter(defaultValue = "${project}", readonly = true)
-    private MavenProject project;
+    /**
+     * If true, code is generated but not written to source directory. Files that would be created or modified are
+     * listed instead.
+     *
+     * @since 0.24
+     */
+    @Parameter(defaultValue = "false", property = "dryRun")
+    private boolean dryRun;
 
-    @Parameter(defaultValue = "${plugin}", readonly = true)
-    private PluginDescriptor descriptor;
+    @Parameter(defaultValue = "${session}", readonly = true)
+    private MavenSession session;
 }
@@ -0,0 +1,48 @@
+package poussecafe.maven;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import poussecafe.source.analysis.ClassLoaderClassResolver;
+import poussecafe.source.analysis.Name;
+import poussecafe.source.analysis.ResolvedClass;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>Resolves classes through plugin's class realm like {@link ClassLoaderClassResolver} but without querying the class
+ * loader for classes the classpath is known not to provide: classes whose package is provided neither by an element of
+ * the indexed classpath nor by the JDK, and classes already looked up in vain. Source analysis tries many candidate
+ * names which do not exist (e.g. a simple name in each imported package), each failed lookup costing the class loader
+ * a search of all its elements.</p>
+ */
+public class IndexedClassResolver extends ClassLoaderClassResolver {
+
+    public IndexedClassResolver(ClassPathIndex classPathIndex) {
+        requireNonNull(classPathIndex);
+        this.classPathIndex = classPathIndex;
+    }
+
+    private ClassPathIndex classPathIndex;
+
+    @Override
+    protected Optional<ResolvedClass> loadClass(Name name) {
+        var qualifiedName = name.toString();
+        if(missingClasses.contains(qualifiedName)) {
+            return Optional.empty();
+        }
+
+        Optional<ResolvedClass> resolvedClass;
+        if(classPathIndex.mayProvideClass(qualifiedName)) {
+            resolvedClass = super.loadClass(name);
+        } else {
+            resolvedClass = Optional.empty();
+        }
+        if(resolvedClass.isEmpty()) {
+            missingClasses.add(qualifiedName);
+        }
+        return resolvedClass;
+    }
+
+    private Set<String> missingClasses = ConcurrentHashMap.newKeySet();
+}
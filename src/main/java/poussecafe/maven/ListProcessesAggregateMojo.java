@@ -0,0 +1,41 @@
+package poussecafe.maven;
+
+import javax.inject.Inject;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+/**
+ * <p>Lists all process names detected in the projects of the reactor. Processes spanning several projects are
+ * detected as the model is built from the sources of all projects.</p>
+ */
+@Mojo(
+    name = "list-processes-aggregate",
+    aggregator = true,
+    requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME,
+    requiresDependencyCollection = ResolutionScope.COMPILE_PLUS_RUNTIME,
+    requiresDirectInvocation = true
+)
+public class ListProcessesAggregateMojo extends AbstractSourceAnalysisMojo {
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        try(var recording = phaseRecorder.start(getLog(), "list-processes-aggregate", project(), reportTimings())) {
+            classPathConfigurator.configureClassPath(reactorProjects(), descriptor());
+            var log = getLog();
+            var processNames = modelOperations.processNames(log, project(), reactorProjects(),
+                    sourceAnalysisConfiguration());
+            modelOperations.listProcesses(log, processNames);
+        }
+    }
+
+    @Inject
+    private ClassPathConfigurator classPathConfigurator;
+
+    @Inject
+    private PhaseRecorder phaseRecorder;
+
+    @Inject
+    private ModelOperations modelOperations;
+}
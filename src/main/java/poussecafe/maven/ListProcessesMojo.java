@@ -1,14 +1,11 @@
 package poussecafe.maven;
 
+import java.util.List;
 import javax.inject.Inject;
-import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
-import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugins.annotations.Mojo;
-import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
-import org.apache.maven.project.MavenProject;
 
 /**
  * <p>Lists all process names detected in a project.</p>
@@ -19,25 +16,25 @@ import org.apache.maven.project.MavenProject;
     requiresDependencyCollection = ResolutionScope.COMPILE_PLUS_RUNTIME,
     requiresDirectInvocation = true
 )
-public class ListProcessesMojo extends AbstractMojo {
+public class ListProcessesMojo extends AbstractSourceAnalysisMojo {
 
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
-        classPathConfigurator.configureClassPath(project, descriptor);
-        var log = getLog();
-        var model = modelOperations.buildModelFromSource(log, project);
-        modelOperations.listProcesses(log, model);
+        try(var recording = phaseRecorder.start(getLog(), "list-processes", project(), reportTimings())) {
+            classPathConfigurator.configureClassPath(project(), descriptor());
+            var log = getLog();
+            var processNames = modelOperations.processNames(log, project(), List.of(project()),
+                    sourceAnalysisConfiguration());
+            modelOperations.listProcesses(log, processNames);
+        }
     }
 
     @Inject
     private ClassPathConfigurator classPathConfigurator;
 
     @Inject
-    private ModelOperations modelOperations;
-
-    @Parameter(defaultValue = "${project}", readonly = true)
-    private MavenProject project;
+    private PhaseRecorder phaseRecorder;
 
-    @Parameter(defaultValue = "${plugin}", readonly = true)
-    private PluginDescriptor descriptor;
+    @Inject
+    private ModelOperations modelOperations;
 }
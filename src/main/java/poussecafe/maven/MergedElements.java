@@ -0,0 +1,67 @@
+package poussecafe.maven;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>Elements of several models merged by name. An element defined by several models is kept once, the definitions
+ * must then be equal. Elements are kept in the order they were first added, whatever the order in which models were
+ * built.</p>
+ */
+class MergedElements<T> {
+
+    /**
+     * @param kind The kind of elements, used to describe conflicts (e.g. "Aggregate").
+     */
+    MergedElements(String kind) {
+        requireNonNull(kind);
+        this.kind = kind;
+    }
+
+    private String kind;
+
+    /**
+     * @param source The model the element comes from (e.g. a file name), used to describe conflicts.
+     */
+    void add(String name, T element, String source) {
+        var definition = definitions.get(name);
+        if(definition == null) {
+            definitions.put(name, new Definition<>(element, source));
+        } else if(!definition.element.equals(element)) {
+            conflicts.add(kind + " " + name + " is defined differently in " + definition.source + " and " + source);
+        }
+    }
+
+    private Map<String, Definition<T>> definitions = new LinkedHashMap<>();
+
+    private static class Definition<T> {
+
+        Definition(T element, String source) {
+            this.element = element;
+            this.source = source;
+        }
+
+        final T element;
+
+        final String source;
+    }
+
+    private List<String> conflicts = new ArrayList<>();
+
+    List<String> conflicts() {
+        return Collections.unmodifiableList(conflicts);
+    }
+
+    Collection<T> elements() {
+        return definitions.values().stream()
+                .map(definition -> definition.element)
+                .collect(Collectors.toList());
+    }
+}
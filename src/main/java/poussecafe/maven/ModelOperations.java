@@ -5,16 +5,26 @@ import java.io.FileInputStream;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Properties;
 import java.util.Set;
+import java.util.function.Supplier;
+import javax.inject.Inject;
 
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.logging.Log;
 import org.apache.maven.project.MavenProject;
-import poussecafe.source.analysis.ClassLoaderClassResolver;
+import poussecafe.source.analysis.ClassResolver;
 import poussecafe.source.analysis.SourceModelBuilder;
 import poussecafe.source.emil.EmilExporter;
 import poussecafe.source.emil.parser.TreeAnalyzer;
@@ -33,131 +43,747 @@ import poussecafe.storage.internal.InternalStorage;
 
 public class ModelOperations {
 
-    public SourceModel buildModelFromSource(Log log, MavenProject project) throws MojoExecutionException {
+    public SourceModel buildModelFromSource(Log log, MavenProject project, SourceAnalysisConfiguration configuration)
+            throws MojoExecutionException {
+        return buildModelFromSource(log, project, List.of(project), configuration);
+    }
+
+    /**
+     * Builds a single model from the sources of given projects. Sources artifacts of one of the projects are
+     * ignored as their content is already included. Model related state is attached to owner project.
+     */
+    public SourceModel buildModelFromSource(Log log,
+            MavenProject owner,
+            List<MavenProject> projects,
+            SourceAnalysisConfiguration configuration) throws MojoExecutionException {
+        var sessionModel = sessionModel(owner, projects, configuration);
+        if(sessionModel.isPresent()) {
+            log.debug("Reusing model built earlier in this session");
+            return sessionModel.get().model;
+        }
+
+        var sourceTrees = sourceTrees(projects, configuration.sourcesCacheDirectory());
+        var sourceIndex = indexSources(log, owner, projects, sourceTrees, configuration);
+        var fingerprint = modelFingerprint(projects, sourceIndex);
+        return buildModelFromSource(log, owner, projects, configuration, sourceTrees, sourceIndex, fingerprint);
+    }
+
+    /**
+     * Indexes the sources of given projects, the model being built only when requested. Model related state is
+     * attached to owner project.
+     */
+    public PendingSourceModel pendingModelFromSource(Log log,
+            MavenProject owner,
+            List<MavenProject> projects,
+            SourceAnalysisConfiguration configuration) throws MojoExecutionException {
+        var sessionModel = sessionModel(owner, projects, configuration);
+        if(sessionModel.isPresent()) {
+            log.debug("Reusing model built earlier in this session");
+            return new PendingSourceModel(sessionModel.get().fingerprint, () -> sessionModel.get().model);
+        }
+
+        var sourceTrees = sourceTrees(projects, configuration.sourcesCacheDirectory());
+        var sourceIndex = indexSources(log, owner, projects, sourceTrees, configuration);
+        var fingerprint = modelFingerprint(projects, sourceIndex);
+        return new PendingSourceModel(fingerprint,
+                () -> buildModelFromSource(log, owner, projects, configuration, sourceTrees, sourceIndex, fingerprint));
+    }
+
+    private Optional<SessionModel> sessionModel(MavenProject owner,
+            List<MavenProject> projects,
+            SourceAnalysisConfiguration configuration) {
+        var sessionModel = (SessionModel) owner.getContextValue(contextKey(owner, projects));
+        if(sessionModel != null
+                && sessionModel.model != null
+                && sessionModel.key.equals(sessionModelKey(projects, configuration))) {
+            return Optional.of(sessionModel);
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    private String contextKey(MavenProject owner, List<MavenProject> projects) {
+        return isReactorModel(owner, projects) ? REACTOR_SESSION_MODEL_CONTEXT_KEY : SESSION_MODEL_CONTEXT_KEY;
+    }
+
+    private boolean isReactorModel(MavenProject owner, List<MavenProject> projects) {
+        return !projects.equals(List.of(owner));
+    }
+
+    private Path stateFile(MavenProject owner, List<MavenProject> projects, String fileName) {
+        var directory = stateDirectory(owner);
+        return isReactorModel(owner, projects) ? directory.resolve(REACTOR_STATE_DIRECTORY_NAME).resolve(fileName)
+                : directory.resolve(fileName);
+    }
+
+    /**
+     * The state of goals working on all the projects of the reactor is kept in this sub-directory of executing
+     * project's state directory.
+     */
+    public static final String REACTOR_STATE_DIRECTORY_NAME = "reactor";
+
+    private SourceIndex indexSources(Log log,
+            MavenProject owner,
+            List<MavenProject> projects,
+            List<Path> sourceTrees,
+            SourceAnalysisConfiguration configuration) throws MojoExecutionException {
+        return indexSources(log, stateFile(owner, projects, "source-index.properties"), sourceTrees,
+                configuration.workers());
+    }
+
+    /**
+     * @return The fingerprint of the model built from the sources of given projects: besides sources, the model
+     *         depends on the compile classpath of the projects, which classes referenced by the sources are resolved
+     *         against. Only the signature of classpath elements is computed, archives are not read.
+     */
+    private String modelFingerprint(List<MavenProject> projects, SourceIndex sourceIndex)
+            throws MojoExecutionException {
+        try(var phase = phaseRecorder.phase("classpath-fingerprint")) {
+            List<String> compileClasspath = new ArrayList<>();
+            for(MavenProject project : projects) {
+                compileClasspath.addAll(project.getCompileClasspathElements());
+            }
+
+            var indexBuilder = new ClassPathIndex.Builder();
+            for(String element : new LinkedHashSet<>(compileClasspath)) {
+                indexBuilder.includeElement(element);
+            }
+            var classPathIndex = indexBuilder.build();
+            phase.count("elements", classPathIndex.elements().size());
+
+            var digest = Digests.sha256();
+            Digests.update(digest, sourceIndex.fingerprint());
+            Digests.update(digest, classPathIndex.fingerprint(compileClasspath));
+            return Digests.hex(digest.digest());
+        } catch (IOException | DependencyResolutionRequiredException e) {
+            throw new MojoExecutionException("Unable to fingerprint classpath", e);
+        }
+    }
+
+    private SourceModel buildModelFromSource(Log log,
+            MavenProject owner,
+            List<MavenProject> projects,
+            SourceAnalysisConfiguration configuration,
+            List<Path> sourceTrees,
+            SourceIndex sourceIndex,
+            String fingerprint) throws MojoExecutionException {
+        var projectKey = owner.getBasedir().getAbsolutePath() + (isReactorModel(owner, projects) ? " (reactor)" : "");
+        Optional<SourceModel> model;
+        if(configuration.lowMemory()) {
+            sourceModelCache.remove(projectKey);
+            model = Optional.of(buildModelFromSource(log, sourceTrees, sourceIndex, LOW_MEMORY_ANALYSIS_WORKERS));
+        } else {
+            model = sourceModelCache.get(projectKey, fingerprint);
+            if(model.isPresent()) {
+                log.debug("Sources and classpath did not change, reusing model");
+            } else {
+                model = Optional.of(buildModelFromSource(log, sourceTrees, sourceIndex, configuration.workers()));
+                sourceModelCache.put(projectKey, fingerprint, model.get());
+            }
+        }
+        owner.setContextValue(contextKey(owner, projects), new SessionModel(sessionModelKey(projects, configuration),
+                fingerprint, configuration.lowMemory() ? null : model.get()));
+
+        var processIndexFile = stateFile(owner, projects, PROCESS_INDEX_FILE_NAME);
+        try {
+            ProcessIndex.of(fingerprint, model.get()).save(processIndexFile);
+        } catch (IOException e) {
+            log.warn("Unable to save process index to " + processIndexFile + ": " + e.getMessage());
+        }
+        return model.get();
+    }
+
+    private static final String PROCESS_INDEX_FILE_NAME = "process-index.properties";
+
+    /**
+     * In low-memory mode, trees are analyzed by a single builder so that the analysis state of only one builder is
+     * alive at a time, instead of one per concurrently analyzed tree plus the merge of their models.
+     */
+    private static final int LOW_MEMORY_ANALYSIS_WORKERS = 1;
+
+    /**
+     * Source trees are analyzed concurrently when several workers are available, see
+     * {@link #buildModelPerTree(Log, List, int)}.
+     */
+    private SourceModel buildModelFromSource(Log log, List<Path> sourceTrees, SourceIndex sourceIndex, int workers)
+            throws MojoExecutionException {
+        try(var phase = phaseRecorder.phase("source-analysis")) {
+            var analysisWorkers = Math.max(1, Math.min(workersCount(workers), sourceTrees.size()));
+            Optional<SourceModel> model = Optional.empty();
+            if(analysisWorkers > 1) {
+                model = buildModelPerTree(log, sourceTrees, analysisWorkers);
+            }
+            if(model.isEmpty()) {
+                analysisWorkers = 1;
+                model = Optional.of(buildModel(log, sourceTrees));
+            }
+            phase.count("files", sourceIndex.files().size())
+                .count("workers", analysisWorkers)
+                .count("aggregates", model.get().aggregates().size())
+                .count("processes", model.get().processes().size());
+            return model.get();
+        }
+    }
+
+    private SourceModel buildModel(Log log, List<Path> sourceTrees) throws MojoExecutionException {
         var builder = new SourceModelBuilder();
-        for(String pathName : project.getCompileSourceRoots()) {
-            Path path = Path.of(pathName);
-            if(path.toFile().exists()) {
+        for(Path path : sourceTrees) {
+            try {
+                builder.includeTree(path);
+                log.debug("Included " + path.toString());
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to include " + path, e);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Analyzes each source tree with its own builder, trees being analyzed concurrently, then merges their models.
+     * The builder gathers the classes of an aggregate (root, factory, repository, ...) across all the files it
+     * includes: when they are spread over several trees, per-tree models are incomplete or conflicting. Trees are then
+     * analyzed again together by a single builder, which is signaled by returning empty.
+     */
+    private Optional<SourceModel> buildModelPerTree(Log log, List<Path> sourceTrees, int workers) {
+        List<SourceModel> models = new ArrayList<>(Collections.nCopies(sourceTrees.size(), null));
+        try(var jobs = new ConcurrentJobs(workers)) {
+            for(int i = 0; i < sourceTrees.size(); ++i) {
+                var index = i;
+                var sourceTree = sourceTrees.get(i);
+                jobs.submit("Tree " + sourceTree, () -> models.set(index, buildModel(log, List.of(sourceTree))));
+            }
+            jobs.join("Unable to analyze source trees separately");
+        } catch (MojoExecutionException e) {
+            log.debug("Analyzing source trees together: " + e.getMessage());
+            return Optional.empty();
+        }
+
+        var merge = new SourceModelMerge();
+        for(int i = 0; i < sourceTrees.size(); ++i) {
+            merge.add(sourceTrees.get(i).toString(), models.get(i));
+        }
+        var conflicts = merge.conflicts();
+        if(conflicts.isEmpty()) {
+            return Optional.of(merge.build());
+        } else {
+            log.debug("Analyzing source trees together, elements are split over several trees: " + conflicts);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * @return The names of the processes of the model built from the sources of given projects. If sources and
+     * classpath did not change since the model was last built, names are read from a persisted index and the model is
+     * not built.
+     */
+    public List<String> processNames(Log log,
+            MavenProject owner,
+            List<MavenProject> projects,
+            SourceAnalysisConfiguration configuration) throws MojoExecutionException {
+        var sessionModel = sessionModel(owner, projects, configuration);
+        if(sessionModel.isPresent()) {
+            log.debug("Reusing model built earlier in this session");
+            return ProcessIndex.of(sessionModel.get().fingerprint, sessionModel.get().model).processNames();
+        }
+
+        var sourceTrees = sourceTrees(projects, configuration.sourcesCacheDirectory());
+        var sourceIndex = indexSources(log, owner, projects, sourceTrees, configuration);
+        var fingerprint = modelFingerprint(projects, sourceIndex);
+        var processIndex = ProcessIndex.load(stateFile(owner, projects, PROCESS_INDEX_FILE_NAME))
+                .filter(index -> index.fingerprint().equals(fingerprint));
+        if(processIndex.isPresent()) {
+            log.debug("Sources and classpath did not change, reading processes from index");
+            return processIndex.get().processNames();
+        }
+
+        var model = buildModelFromSource(log, owner, projects, configuration, sourceTrees, sourceIndex, fingerprint);
+        return ProcessIndex.of(fingerprint, model).processNames();
+    }
+
+    private static final String SESSION_MODEL_CONTEXT_KEY = SourceModel.class.getName();
+
+    private static final String REACTOR_SESSION_MODEL_CONTEXT_KEY = SESSION_MODEL_CONTEXT_KEY + ".reactor";
+
+    private static class SessionModel {
+
+        SessionModel(List<String> key, String fingerprint, SourceModel model) {
+            this.key = key;
+            this.fingerprint = fingerprint;
+            this.model = model;
+        }
+
+        final List<String> key;
+
+        final String fingerprint;
+
+        /**
+         * Null if the model was built in low-memory mode, only its fingerprint is then kept.
+         */
+        final SourceModel model;
+    }
+
+    private List<String> sessionModelKey(List<MavenProject> projects, SourceAnalysisConfiguration configuration) {
+        List<String> key = new ArrayList<>();
+        for(MavenProject project : projects) {
+            key.addAll(project.getCompileSourceRoots());
+            for(var artifact : project.getArtifacts()) {
+                if(artifact.hasClassifier() && artifact.getClassifier().equals("sources")) {
+                    key.add(artifact.getFile().getAbsolutePath());
+                }
+            }
+        }
+        key.add(configuration.sourcesCacheDirectory().getAbsolutePath());
+        return key;
+    }
+
+
+    /**
+     * Tells that project's sources were changed. The next model built in current session will be built from
+     * the current state of the sources. Reactor models, which are kept by the project owning them (usually the
+     * execution root), are invalidated as well.
+     */
+    public void invalidateModel(MavenSession session, MavenProject project) {
+        project.setContextValue(SESSION_MODEL_CONTEXT_KEY, null);
+        project.setContextValue(REACTOR_SESSION_MODEL_CONTEXT_KEY, null);
+        for(MavenProject sessionProject : session.getProjects()) {
+            sessionProject.setContextValue(REACTOR_SESSION_MODEL_CONTEXT_KEY, null);
+        }
+    }
+
+    private List<Path> sourceTrees(List<MavenProject> projects, File sourcesCacheDirectory)
+            throws MojoExecutionException {
+        Set<String> projectKeys = new HashSet<>();
+        for(MavenProject project : projects) {
+            projectKeys.add(project.getGroupId() + ":" + project.getArtifactId());
+        }
+
+        Set<Path> sourceTrees = new LinkedHashSet<>();
+        for(MavenProject project : projects) {
+            for(String pathName : project.getCompileSourceRoots()) {
+                Path path = Path.of(pathName);
+                if(path.toFile().exists()) {
+                    sourceTrees.add(path);
+                }
+            }
+        }
+        for(MavenProject project : projects) {
+            sourceTrees.addAll(sourceDependencies(project, sourcesCacheDirectory, projectKeys));
+        }
+        return new ArrayList<>(sourceTrees);
+    }
+
+    /**
+     * @return The directories where the sources artifacts project depends on were extracted.
+     */
+    public List<Path> sourceDependencies(MavenProject project, File sourcesCacheDirectory)
+            throws MojoExecutionException {
+        return sourceDependencies(project, sourcesCacheDirectory, Set.of());
+    }
+
+    private List<Path> sourceDependencies(MavenProject project, File sourcesCacheDirectory,
+            Set<String> excludedProjectKeys) throws MojoExecutionException {
+        var cache = new SourcesArtifactCache(sourcesCacheDirectory.toPath());
+        List<Path> sourceDependencies = new ArrayList<>();
+        for(var artifact : project.getArtifacts()) {
+            if(artifact.hasClassifier() && artifact.getClassifier().equals("sources")
+                    && !excludedProjectKeys.contains(artifact.getGroupId() + ":" + artifact.getArtifactId())) {
                 try {
-                    builder.includeTree(path);
-                    log.debug("Included " + path.toString());
+                    sourceDependencies.add(cache.extractedSources(artifact.getId(), artifact.getFile().toPath()));
                 } catch (IOException e) {
-                    throw new MojoExecutionException("Unable to include source root " + path, e);
+                    throw new MojoExecutionException("Unable to extract sources of artifact " + artifact, e);
                 }
             }
         }
-        for(var path : project.getArtifacts()) {
-            if(path.hasClassifier() && path.getClassifier().equals("sources")) {
+        return sourceDependencies;
+    }
+
+    /**
+     * Builds the model of project's sources, the files of staging's source directory being read from its mirror: code
+     * generated against this model only writes to the mirror. The model is neither cached nor shared with other
+     * goals.
+     */
+    public SourceModel buildModelFromSource(Log log,
+            MavenProject project,
+            SourceAnalysisConfiguration configuration,
+            SourceDirectoryStaging staging) throws MojoExecutionException {
+        var stagedDirectory = staging.sourceDirectory().toAbsolutePath().normalize();
+        List<Path> sourceTrees = new ArrayList<>();
+        for(Path sourceTree : sourceTrees(List.of(project), configuration.sourcesCacheDirectory())) {
+            if(sourceTree.toAbsolutePath().normalize().equals(stagedDirectory)) {
+                sourceTrees.add(staging.stagingDirectory());
+            } else {
+                sourceTrees.add(sourceTree);
+            }
+        }
+        var sourceIndex = indexSources(log, stateDirectory(project).resolve("staged-source-index.properties"),
+                sourceTrees, configuration.workers());
+        return buildModelFromSource(log, sourceTrees, sourceIndex, configuration.workers());
+    }
+
+    public static Path stateDirectory(MavenProject project) {
+        return Path.of(project.getBuild().getDirectory(), "pousse-cafe");
+    }
+
+    public SourceIndex indexSources(Log log, Path indexFile, List<Path> sourceTrees, int workers)
+            throws MojoExecutionException {
+        try(var phase = phaseRecorder.phase("source-indexing")) {
+            var previousIndex = SourceIndex.load(indexFile);
+            var indexBuilder = new SourceIndex.Builder()
+                    .previous(previousIndex)
+                    .pluginVersion(pluginVersion())
+                    .workers(workersCount(workers));
+            for(Path path : sourceTrees) {
                 try {
-                    builder.includeTree(path.getFile().toPath());
-                    log.debug("Included " + path.getFile());
+                    indexBuilder.includeTree(path);
                 } catch (IOException e) {
-                    throw new MojoExecutionException("Unable to include artifact " + path, e);
+                    throw new MojoExecutionException("Unable to index " + path, e);
                 }
             }
+            SourceIndex index;
+            try {
+                index = indexBuilder.build();
+            } catch (IOException e) {
+                throw new MojoExecutionException("Unable to index source files", e);
+            }
+            phase.count("files", index.files().size());
+            if(previousIndex.isPresent()) {
+                log.debug(index.changedFiles(previousIndex.get()).size() + " source file(s) changed, "
+                        + index.deletedFiles(previousIndex.get()).size() + " deleted since last build");
+            }
+
+            try {
+                index.save(indexFile);
+            } catch (IOException e) {
+                log.warn("Unable to save source index to " + indexFile + ": " + e.getMessage());
+            }
+            return index;
+        }
+    }
+
+    public static int workersCount(int workers) {
+        if(workers > 0) {
+            return workers;
+        } else {
+            return Runtime.getRuntime().availableProcessors();
         }
-        return builder.build();
     }
 
+    private String pluginVersion() {
+        var properties = new Properties();
+        try(var inputStream = ModelOperations.class.getResourceAsStream(
+                "/META-INF/maven/org.pousse-cafe-framework/pousse-cafe-maven-plugin/pom.properties")) {
+            if(inputStream != null) {
+                properties.load(inputStream);
+            }
+        } catch (IOException e) {
+            // Version stays unknown
+        }
+        return properties.getProperty("version", "unknown");
+    }
+
+    @Inject
+    private SourceModelCache sourceModelCache;
+
+    @Inject
+    private PhaseRecorder phaseRecorder;
+
     public void exportProcess(SourceModel model, Optional<String> processName, File outputFile) throws MojoExecutionException {
+        try(var phase = phaseRecorder.phase("emil-export")) {
+            writeEmil(model, processName, outputFile.toPath());
+            phase.count("processes", processName.isPresent() ? 1 : model.processes().size());
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to write to file " + outputFile, e);
+        }
+    }
+
+    private void writeEmil(SourceModel model, Optional<String> processName, Path outputFile) throws IOException {
         EmilExporter exporter = new EmilExporter.Builder()
                 .model(model)
                 .processName(processName)
                 .build();
-        var emil = exporter.toEmil();
+        Files.writeString(outputFile, exporter.toEmil());
+    }
+
+    /**
+     * Exports each process in its own file in given directory. The file of a process is named after the process
+     * (e.g. MyProcess.emil). Processes are exported concurrently.
+     *
+     * @param processName The name of the process to export, all processes are exported if empty.
+     */
+    public void exportProcesses(Log log,
+            SourceModel model,
+            Optional<String> processName,
+            File outputDirectory,
+            int workers) throws MojoExecutionException {
+        if(processName.isPresent() && model.processes().stream()
+                .noneMatch(process -> process.simpleName().equals(processName.get()))) {
+            throw new MojoExecutionException("No process named " + processName.get());
+        }
+
         try {
-            Files.writeString(outputFile.toPath(), emil);
+            Files.createDirectories(outputDirectory.toPath());
         } catch (IOException e) {
-            throw new MojoExecutionException("Unable to write to file " + outputFile, e);
+            throw new MojoExecutionException("Unable to create directory " + outputDirectory, e);
+        }
+
+        var exportedProcesses = 0;
+        try(var phase = phaseRecorder.phase("emil-export");
+                var jobs = new ConcurrentJobs(workersCount(workers))) {
+            for(ProcessModel process : model.processes()) {
+                var name = process.simpleName();
+                if(processName.isEmpty() || processName.get().equals(name)) {
+                    var outputFile = outputDirectory.toPath().resolve(name + ".emil");
+                    jobs.submit("Process " + name, () -> writeEmil(model, Optional.of(name), outputFile));
+                    ++exportedProcesses;
+                }
+            }
+            jobs.join("Unable to export processes");
+            phase.count("processes", exportedProcesses);
         }
+        log.info("Exported " + exportedProcesses + " process(es) to " + outputDirectory);
     }
 
     public SourceModel buildModelFromEmil(Log log, File emilFile, String basePackage) throws MojoExecutionException {
-        try(var inputStream = new FileInputStream(emilFile)) {
-            var tree = TreeParser.parseInputStream(inputStream);
-            if(!tree.isValid()) {
+        return buildModelFromEmil(log, List.of(emilFile), basePackage, 1);
+    }
+
+    /**
+     * Parses and analyzes given EMIL files concurrently, then merges their models. Parsing, analysis and reading
+     * errors of all files are reported before failing. Elements defined by several files must have the same
+     * definition in all of them.
+     */
+    public SourceModel buildModelFromEmil(Log log, List<File> emilFiles, String basePackage, int workers)
+            throws MojoExecutionException {
+        List<SourceModel> models = new ArrayList<>(emilFiles.size());
+        List<List<String>> errors = new ArrayList<>(emilFiles.size());
+        for(int i = 0; i < emilFiles.size(); ++i) {
+            models.add(null);
+            errors.add(List.of());
+        }
+
+        try(var phase = phaseRecorder.phase("emil-parsing");
+                var jobs = new ConcurrentJobs(Math.max(1, Math.min(workersCount(workers), emilFiles.size())))) {
+            for(int i = 0; i < emilFiles.size(); ++i) {
+                var index = i;
+                var emilFile = emilFiles.get(i);
+                jobs.submit("File " + emilFile, () -> {
+                    try(var inputStream = new FileInputStream(emilFile)) {
+                        var tree = TreeParser.parseInputStream(inputStream);
+                        if(!tree.isValid()) {
+                            errors.set(index, tree.errors());
+                        } else {
+                            var analyzer = new TreeAnalyzer.Builder()
+                                    .tree(tree)
+                                    .basePackage(basePackage)
+                                    .build();
+                            analyzer.analyze();
+                            models.set(index, analyzer.model());
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        errors.set(index, List.of(e.toString()));
+                    }
+                });
+            }
+            jobs.join("Unable to build model from EMIL");
+            phase.count("files", emilFiles.size());
+        }
+
+        List<String> invalidFiles = new ArrayList<>();
+        for(int i = 0; i < emilFiles.size(); ++i) {
+            if(models.get(i) == null) {
+                var emilFile = emilFiles.get(i);
                 log.error("Unable to parse " + emilFile);
-                for(String error : tree.errors()) {
+                for(String error : errors.get(i)) {
                     log.error(error);
                 }
-                throw new MojoExecutionException("Unable to parse " + emilFile);
+                invalidFiles.add(emilFile.toString());
             }
+        }
+        if(!invalidFiles.isEmpty()) {
+            throw new MojoExecutionException("Unable to parse " + String.join(", ", invalidFiles));
+        }
+        return merge(emilFiles, models);
+    }
 
-            var analyzer = new TreeAnalyzer.Builder()
-                    .tree(tree)
-                    .basePackage(basePackage)
-                    .build();
-            analyzer.analyze();
+    private SourceModel merge(List<File> emilFiles, List<SourceModel> models) throws MojoExecutionException {
+        if(models.size() == 1) {
+            return models.get(0);
+        }
 
-            return analyzer.model();
+        var merge = new SourceModelMerge();
+        for(int i = 0; i < models.size(); ++i) {
+            merge.add(emilFiles.get(i).toString(), models.get(i));
+        }
+        var conflicts = merge.conflicts();
+        if(!conflicts.isEmpty()) {
+            throw new MojoExecutionException("Unable to merge EMIL files:\n- " + String.join("\n- ", conflicts));
+        }
+        return merge.build();
+    }
+
+    /**
+     * Stages given source directory. The mirror is kept in project's state directory between builds.
+     */
+    public SourceDirectoryStaging stage(File sourceDirectory, Path stateDirectory) throws MojoExecutionException {
+        try(var phase = phaseRecorder.phase("source-staging")) {
+            var digest = Digests.sha256();
+            Digests.update(digest, sourceDirectory.getAbsolutePath());
+            var stagingRoot = stateDirectory.resolve("staging").resolve(Digests.hex(digest.digest()));
+            var staging = SourceDirectoryStaging.stage(sourceDirectory.toPath(), stagingRoot);
+            phase.count("files", staging.stagedFiles())
+                .count("copied files", staging.copiedFiles());
+            return staging;
         } catch (IOException e) {
-            throw new MojoExecutionException("Unable to build model from file " + emilFile, e);
+            throw new MojoExecutionException("Unable to stage " + sourceDirectory, e);
         }
     }
 
+    /**
+     * Generates the code of given model in the mirror of staged source directory. If generation succeeds, created and
+     * modified files are then written to source directory unless dry run is requested. Source directory is not
+     * written before that, an interrupted import leaves it unchanged.
+     *
+     * @param stagedModel The current model, built from staged sources (see
+     *        {@link #buildModelFromSource(Log, MavenProject, SourceAnalysisConfiguration, SourceDirectoryStaging)}).
+     * @param classResolver The resolver of the classes referenced by generated code.
+     * @param workers The number of workers generating storage adapters, 0 meaning one per available processor.
+     */
     public void importModel(
-            Optional<SourceModel> currentModel,
+            Log log,
+            SourceDirectoryStaging staging,
+            Optional<SourceModel> stagedModel,
             SourceModel newModel,
+            ClassResolver classResolver,
+            Set<String> storageAdapters,
+            Optional<File> codeFormatterProfile,
+            int workers,
+            boolean dryRun) throws MojoExecutionException {
+        var sourceDirectory = staging.sourceDirectory();
+        try {
+            var stagingDirectory = staging.stagingDirectory().toFile();
+            try(var phase = phaseRecorder.phase("code-generation")) {
+                var generatorBuilder = new CoreCodeGenerator.Builder()
+                        .sourceDirectory(stagingDirectory.toPath())
+                        .classResolver(classResolver);
+                if(stagedModel.isPresent()) {
+                    generatorBuilder.currentModel(stagedModel.get());
+                }
+                if(codeFormatterProfile.isPresent()) {
+                    generatorBuilder.codeFormatterProfile(codeFormatterProfile.get().toPath());
+                }
+                var generator = generatorBuilder.build();
+                generator.generate(newModel);
+                writeStorageAdaptersFiles(newModel, storageAdaptersGenerators(stagingDirectory, storageAdapters,
+                        codeFormatterProfile), workers);
+                phase.count("aggregates", newModel.aggregates().size());
+            }
+
+            var directChanges = staging.directChanges();
+            if(!directChanges.isEmpty()) {
+                throw new MojoExecutionException("Files of " + sourceDirectory + " changed while code was generated "
+                        + directChanges + ", nothing was written. Generated code is in " + stagingDirectory);
+            }
+
+            SourceDirectoryStaging.Changes changes;
+            try(var phase = phaseRecorder.phase("generated-code-commit")) {
+                changes = staging.changes();
+                for(Path createdFile : changes.createdFiles()) {
+                    log.info((dryRun ? "Would create " : "Created ") + createdFile);
+                }
+                for(Path modifiedFile : changes.modifiedFiles()) {
+                    log.info((dryRun ? "Would modify " : "Modified ") + modifiedFile);
+                }
+                if(!dryRun) {
+                    staging.commit(changes);
+                }
+                phase.count("created files", changes.createdFiles().size())
+                    .count("modified files", changes.modifiedFiles().size())
+                    .count("unchanged files", changes.unchangedFiles());
+            }
+            log.info(changes.createdFiles().size() + " file(s) created, " + changes.modifiedFiles().size()
+                    + " modified, " + changes.unchangedFiles() + " unchanged" + (dryRun ? " (dry run)" : ""));
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to write generated code to " + sourceDirectory, e);
+        }
+    }
+
+    /**
+     * Builds, once per import, the generator of each selected storage so that code formatter profile is loaded once
+     * per storage whatever the number of imported aggregates.
+     */
+    private Map<String, StorageAdaptersCodeGenerator> storageAdaptersGenerators(
             File sourceDirectory,
             Set<String> storageAdapters,
             Optional<File> codeFormatterProfile) {
-        var generatorBuilder = new CoreCodeGenerator.Builder()
-                .sourceDirectory(sourceDirectory.toPath())
-                .classResolver(new ClassLoaderClassResolver());
-        if(currentModel.isPresent()) {
-            generatorBuilder.currentModel(currentModel.get());
-        }
-        if(codeFormatterProfile.isPresent()) {
-            generatorBuilder.codeFormatterProfile(codeFormatterProfile.get().toPath());
+        Map<String, StorageAdaptersCodeGenerator> generators = new HashMap<>();
+        for(Entry<String, Supplier<StorageAdaptersCodeGenerator>> entry
+                : availableGenerators(sourceDirectory, codeFormatterProfile).entrySet()) {
+            if(storageAdapters.contains(entry.getKey())) {
+                generators.put(entry.getKey(), entry.getValue().get());
+            }
         }
-        var generator = generatorBuilder.build();
-        generator.generate(newModel);
-        writeStorageAdaptersFiles(newModel, sourceDirectory, storageAdapters, codeFormatterProfile);
+        return generators;
     }
 
+    /**
+     * Storages are generated concurrently, one job per storage: each storage has its own generator and writes its own
+     * adapter classes. A storage's generator generates the adapters of aggregates one after the other.
+     */
     private void writeStorageAdaptersFiles(
             SourceModel newModel,
-            File sourceDirectory,
-            Set<String> storageAdapters,
-            Optional<File> codeFormatterProfile) {
-        Map<String, StorageAdaptersCodeGenerator> availableGenerators = availableGenerators(sourceDirectory, codeFormatterProfile);
-        for(Aggregate aggregate : newModel.aggregates()) {
-            for(Entry<String, StorageAdaptersCodeGenerator> entry : availableGenerators.entrySet()) {
-                if(storageAdapters.contains(entry.getKey())) {
-                    StorageAdaptersCodeGenerator generator = entry.getValue();
-                    generator.generate(aggregate);
-                }
+            Map<String, StorageAdaptersCodeGenerator> generators,
+            int workers) throws MojoExecutionException {
+        try(var jobs = new ConcurrentJobs(Math.max(1, Math.min(workersCount(workers), generators.size())))) {
+            for(Entry<String, StorageAdaptersCodeGenerator> entry : generators.entrySet()) {
+                var generator = entry.getValue();
+                jobs.submit(entry.getKey() + " adapters", () -> {
+                    for(Aggregate aggregate : newModel.aggregates()) {
+                        generator.generate(aggregate);
+                    }
+                });
             }
+            jobs.join("Unable to generate storage adapters");
         }
     }
 
-    private Map<String, StorageAdaptersCodeGenerator> availableGenerators(File sourceDirectory,
+    private Map<String, Supplier<StorageAdaptersCodeGenerator>> availableGenerators(File sourceDirectory,
             Optional<File> codeFormatterProfile) {
-        Map<String, StorageAdaptersCodeGenerator> availableGenerators = new HashMap<>();
+        Map<String, Supplier<StorageAdaptersCodeGenerator>> availableGenerators = new HashMap<>();
 
-        var internalGeneratorBuilder = new InternalStorageAdaptersCodeGenerator.Builder()
-                .sourceDirectory(sourceDirectory.toPath());
-        var mongoGeneratorBuilder = new MongoStorageAdaptersCodeGenerator.Builder()
-                .sourceDirectory(sourceDirectory.toPath());
-        var jpaGeneratorBuilder = new JpaStorageAdaptersCodeGenerator.Builder()
-                .sourceDirectory(sourceDirectory.toPath());
-        if(codeFormatterProfile.isPresent()) {
-            internalGeneratorBuilder.codeFormatterProfile(codeFormatterProfile.get().toPath());
-            mongoGeneratorBuilder.codeFormatterProfile(codeFormatterProfile.get().toPath());
-            jpaGeneratorBuilder.codeFormatterProfile(codeFormatterProfile.get().toPath());
-        }
-
-        availableGenerators.put(InternalStorage.NAME, internalGeneratorBuilder.build());
-        availableGenerators.put(SpringMongoDbStorage.NAME, mongoGeneratorBuilder.build());
-        availableGenerators.put(SpringJpaStorage.NAME, jpaGeneratorBuilder.build());
+        availableGenerators.put(InternalStorage.NAME, () -> {
+            var internalGeneratorBuilder = new InternalStorageAdaptersCodeGenerator.Builder()
+                    .sourceDirectory(sourceDirectory.toPath());
+            codeFormatterProfile.ifPresent(profile -> internalGeneratorBuilder.codeFormatterProfile(profile.toPath()));
+            return internalGeneratorBuilder.build();
+        });
+        availableGenerators.put(SpringMongoDbStorage.NAME, () -> {
+            var mongoGeneratorBuilder = new MongoStorageAdaptersCodeGenerator.Builder()
+                    .sourceDirectory(sourceDirectory.toPath());
+            codeFormatterProfile.ifPresent(profile -> mongoGeneratorBuilder.codeFormatterProfile(profile.toPath()));
+            return mongoGeneratorBuilder.build();
+        });
+        availableGenerators.put(SpringJpaStorage.NAME, () -> {
+            var jpaGeneratorBuilder = new JpaStorageAdaptersCodeGenerator.Builder()
+                    .sourceDirectory(sourceDirectory.toPath());
+            codeFormatterProfile.ifPresent(profile -> jpaGeneratorBuilder.codeFormatterProfile(profile.toPath()));
+            return jpaGeneratorBuilder.build();
+        });
 
         return availableGenerators;
     }
 
     public void listProcesses(Log log, SourceModel model) {
-        log.info("Found " + model.processes().size() + " processes:");
+        List<String> processNames = new ArrayList<>();
         for(ProcessModel process : model.processes()) {
-            log.info("- " + process.simpleName());
+            processNames.add(process.simpleName());
+        }
+        listProcesses(log, processNames);
+    }
+
+    public void listProcesses(Log log, List<String> processNames) {
+        log.info("Found " + processNames.size() + " processes:");
+        for(String processName : processNames) {
+            log.info("- " + processName);
         }
     }
 }
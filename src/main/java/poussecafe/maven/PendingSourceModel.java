@@ -0,0 +1,50 @@
+package poussecafe.maven;
+
+import org.apache.maven.plugin.MojoExecutionException;
+import poussecafe.source.model.SourceModel;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>The model of sources already indexed. The model itself is only built when first requested, so that goals able to
+ * skip their work when sources did not change do not pay for source analysis.</p>
+ */
+public class PendingSourceModel {
+
+    @FunctionalInterface
+    interface ModelBuilder {
+
+        SourceModel build() throws MojoExecutionException;
+    }
+
+    PendingSourceModel(String fingerprint, ModelBuilder builder) {
+        requireNonNull(fingerprint);
+        this.fingerprint = fingerprint;
+        requireNonNull(builder);
+        this.builder = builder;
+    }
+
+    private String fingerprint;
+
+    /**
+     * @return The fingerprint of the sources and classpath. Two models built with the same fingerprint are identical.
+     */
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    private ModelBuilder builder;
+
+    private SourceModel model;
+
+    /**
+     * The builder, and the indexes and source trees it holds, is released once the model is built.
+     */
+    public SourceModel model() throws MojoExecutionException {
+        if(model == null) {
+            model = builder.build();
+            builder = null;
+        }
+        return model;
+    }
+}
@@ -0,0 +1,37 @@
+package poussecafe.maven;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * <p>JDK Flight Recorder event emitted at the end of each phase of a goal execution.</p>
+ */
+@Name("poussecafe.maven.Phase")
+@Label("Pousse-Cafe Plugin Phase")
+@Category({"Pousse-Cafe", "Maven Plugin"})
+@Description("A phase of a Pousse-Cafe Maven plugin goal execution")
+@StackTrace(false)
+class PhaseEvent extends Event {
+
+    @Label("Goal")
+    String goal;
+
+    @Label("Project")
+    String project;
+
+    @Label("Phase")
+    String phase;
+
+    @Label("Allocated Bytes")
+    @Description("Bytes allocated by the thread executing the goal during the phase")
+    @DataAmount
+    long allocatedBytes;
+
+    @Label("Counters")
+    String counters;
+}
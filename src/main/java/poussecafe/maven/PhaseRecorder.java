@@ -0,0 +1,258 @@
+package poussecafe.maven;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import javax.inject.Singleton;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * <p>Records the phases of goal executions: wall time, bytes allocated by the thread executing the goal and
+ * phase-specific counters (files, types, ...). Each phase is also emitted as a JDK Flight Recorder event. The peak
+ * heap usage of the whole goal execution is recorded as well.</p>
+ *
+ * <p>A recording is attached to the thread executing the goal, phases started on other threads or outside of a
+ * recording are not recorded. Peak heap usage is a JVM-wide measure: when goals are executed concurrently (i.e.
+ * parallel builds), it includes the memory used by all of them.</p>
+ */
+@Singleton
+public class PhaseRecorder {
+
+    public Recording start(Log log, String goal, MavenProject project, boolean reportTimings) {
+        var recording = new Recording(log, goal, project, reportTimings);
+        currentRecording.set(recording);
+        return recording;
+    }
+
+    private ThreadLocal<Recording> currentRecording = new ThreadLocal<>();
+
+    public Phase phase(String name) {
+        return new Phase(currentRecording.get(), name);
+    }
+
+    public class Recording implements AutoCloseable {
+
+        private Recording(Log log, String goal, MavenProject project, boolean reportTimings) {
+            this.log = log;
+            this.goal = goal;
+            this.project = project;
+            this.reportTimings = reportTimings;
+            startTime = Instant.now();
+            startNanos = System.nanoTime();
+            resetHeapPeakUsage();
+        }
+
+        private Log log;
+
+        private String goal;
+
+        private MavenProject project;
+
+        private boolean reportTimings;
+
+        private Instant startTime;
+
+        private long startNanos;
+
+        private List<Phase> phases = new ArrayList<>();
+
+        /**
+         * Ends the recording, logs a summary of the phases and writes a JSON report in
+         * <code>target/pousse-cafe/timings/&lt;goal&gt;.json</code>. The summary is logged at info level if timings
+         * report was requested, at debug level otherwise.
+         */
+        @Override
+        public void close() {
+            currentRecording.remove();
+            var wallTimeMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            var peakHeapBytes = heapPeakUsage();
+            logSummary(wallTimeMillis, peakHeapBytes);
+            var reportFile = ModelOperations.stateDirectory(project).resolve("timings").resolve(goal + ".json");
+            try {
+                writeReport(reportFile, wallTimeMillis, peakHeapBytes);
+            } catch (IOException e) {
+                log.warn("Unable to write timings report to " + reportFile + ": " + e.getMessage());
+            }
+        }
+
+        private void logSummary(long wallTimeMillis, long peakHeapBytes) {
+            if(!reportTimings && !log.isDebugEnabled()) {
+                return;
+            }
+            List<String> lines = new ArrayList<>();
+            lines.add("Goal " + goal + " took " + wallTimeMillis + " ms, heap peaked at "
+                    + peakHeapBytes / (1024 * 1024) + " MiB:");
+            for(Phase phase : phases) {
+                var line = new StringBuilder();
+                line.append("- ").append(phase.name).append(": ").append(phase.wallTimeMillis).append(" ms");
+                if(phase.allocatedBytes >= 0) {
+                    line.append(", ").append(phase.allocatedBytes / (1024 * 1024)).append(" MiB allocated");
+                }
+                for(Entry<String, Long> counter : phase.counters.entrySet()) {
+                    line.append(", ").append(counter.getValue()).append(' ').append(counter.getKey());
+                }
+                lines.add(line.toString());
+            }
+            for(String line : lines) {
+                if(reportTimings) {
+                    log.info(line);
+                } else {
+                    log.debug(line);
+                }
+            }
+        }
+
+        private void writeReport(Path reportFile, long wallTimeMillis, long peakHeapBytes) throws IOException {
+            Files.createDirectories(reportFile.getParent());
+            var temporaryFile = Files.createTempFile(reportFile.getParent(), reportFile.getFileName().toString(),
+                    ".tmp");
+            try(Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+                writer.write("{\n");
+                writer.write("  \"goal\": " + jsonString(goal) + ",\n");
+                writer.write("  \"project\": " + jsonString(projectId(project)) + ",\n");
+                writer.write("  \"startTime\": " + jsonString(startTime.toString()) + ",\n");
+                writer.write("  \"wallTimeMillis\": " + wallTimeMillis + ",\n");
+                writer.write("  \"peakHeapBytes\": " + peakHeapBytes + ",\n");
+                writer.write("  \"phases\": [");
+                for(int i = 0; i < phases.size(); ++i) {
+                    var phase = phases.get(i);
+                    writer.write(i == 0 ? "\n" : ",\n");
+                    writer.write("    {\"name\": " + jsonString(phase.name)
+                            + ", \"wallTimeMillis\": " + phase.wallTimeMillis
+                            + ", \"allocatedBytes\": " + phase.allocatedBytes
+                            + ", \"counters\": {");
+                    var first = true;
+                    for(Entry<String, Long> counter : phase.counters.entrySet()) {
+                        writer.write((first ? "" : ", ") + jsonString(counter.getKey()) + ": " + counter.getValue());
+                        first = false;
+                    }
+                    writer.write("}}");
+                }
+                writer.write("\n  ]\n}\n");
+            }
+            Files.move(temporaryFile, reportFile, StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    private static String projectId(MavenProject project) {
+        return project.getGroupId() + ":" + project.getArtifactId() + ":" + project.getVersion();
+    }
+
+    private static String jsonString(String value) {
+        var json = new StringBuilder("\"");
+        for(char c : value.toCharArray()) {
+            if(c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if(c < 0x20) {
+                json.append(String.format("\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        return json.append('"').toString();
+    }
+
+    public static class Phase implements AutoCloseable {
+
+        private Phase(Recording recording, String name) {
+            this.recording = recording;
+            this.name = name;
+            if(recording != null) {
+                event = new PhaseEvent();
+                event.begin();
+                startNanos = System.nanoTime();
+                startAllocatedBytes = currentThreadAllocatedBytes();
+            }
+        }
+
+        private Recording recording;
+
+        private String name;
+
+        private PhaseEvent event;
+
+        private long startNanos;
+
+        private long startAllocatedBytes;
+
+        private long wallTimeMillis;
+
+        private long allocatedBytes;
+
+        private Map<String, Long> counters = new LinkedHashMap<>();
+
+        public Phase count(String counter, long value) {
+            counters.merge(counter, value, Long::sum);
+            return this;
+        }
+
+        @Override
+        public void close() {
+            if(recording == null) {
+                return;
+            }
+            wallTimeMillis = (System.nanoTime() - startNanos) / 1_000_000;
+            var endAllocatedBytes = currentThreadAllocatedBytes();
+            allocatedBytes = startAllocatedBytes >= 0 && endAllocatedBytes >= 0
+                    ? endAllocatedBytes - startAllocatedBytes : -1;
+            recording.phases.add(this);
+
+            event.end();
+            if(event.shouldCommit()) {
+                event.goal = recording.goal;
+                event.project = projectId(recording.project);
+                event.phase = name;
+                event.allocatedBytes = allocatedBytes;
+                event.counters = counters.toString();
+                event.commit();
+            }
+        }
+    }
+
+    private static void resetHeapPeakUsage() {
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if(pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    /**
+     * @return The sum of the peak usages of heap memory pools since last reset. Pools may not peak at the same time,
+     * the result is an upper bound of actual peak heap usage.
+     */
+    private static long heapPeakUsage() {
+        long peakUsage = 0;
+        for(MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if(pool.getType() == MemoryType.HEAP && pool.isValid()) {
+                peakUsage += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peakUsage;
+    }
+
+    private static long currentThreadAllocatedBytes() {
+        var threadBean = ManagementFactory.getThreadMXBean();
+        if(threadBean instanceof com.sun.management.ThreadMXBean) {
+            var allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+            if(allocationBean.isThreadAllocatedMemorySupported() && allocationBean.isThreadAllocatedMemoryEnabled()) {
+                return allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,88 @@
+package poussecafe.maven;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import poussecafe.source.model.ProcessModel;
+import poussecafe.source.model.SourceModel;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>The names of the processes of a model along with the fingerprint of the sources and classpath the model was built
+ * from. A process index is persisted so that processes can be listed without building the model again as long as
+ * sources and classpath did not change.</p>
+ */
+public class ProcessIndex {
+
+    public static ProcessIndex of(String fingerprint, SourceModel model) {
+        var index = new ProcessIndex();
+        index.fingerprint = requireNonNull(fingerprint);
+        for(ProcessModel process : model.processes()) {
+            index.processNames.add(process.simpleName());
+        }
+        return index;
+    }
+
+    public static Optional<ProcessIndex> load(Path indexFile) {
+        if(!Files.isRegularFile(indexFile)) {
+            return Optional.empty();
+        }
+        try(Reader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            var properties = new Properties();
+            properties.load(reader);
+            var index = new ProcessIndex();
+            index.fingerprint = requireNonNull(properties.getProperty(FINGERPRINT_KEY));
+            var processNames = requireNonNull(properties.getProperty(PROCESSES_KEY));
+            if(!processNames.isEmpty()) {
+                index.processNames.addAll(Arrays.asList(processNames.split(",")));
+            }
+            return Optional.of(index);
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static final String FINGERPRINT_KEY = "fingerprint";
+
+    private static final String PROCESSES_KEY = "processes";
+
+    private ProcessIndex() {
+
+    }
+
+    private String fingerprint;
+
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    private List<String> processNames = new ArrayList<>();
+
+    public List<String> processNames() {
+        return Collections.unmodifiableList(processNames);
+    }
+
+    public void save(Path indexFile) throws IOException {
+        var properties = new Properties();
+        properties.setProperty(FINGERPRINT_KEY, fingerprint);
+        properties.setProperty(PROCESSES_KEY, String.join(",", processNames));
+
+        Files.createDirectories(indexFile.getParent());
+        var temporaryFile = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+        try(Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        Files.move(temporaryFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
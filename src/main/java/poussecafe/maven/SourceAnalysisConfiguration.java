@@ -0,0 +1,66 @@
+package poussecafe.maven;
+
+import java.io.File;
+
+import static java.util.Objects.requireNonNull;
+
+public class SourceAnalysisConfiguration {
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private int workers;
+
+    /**
+     * @return The number of workers to use, 0 meaning one per available processor.
+     */
+    public int workers() {
+        return workers;
+    }
+
+    private File sourcesCacheDirectory;
+
+    public File sourcesCacheDirectory() {
+        return sourcesCacheDirectory;
+    }
+
+    private boolean lowMemory;
+
+    /**
+     * @return True if built models must not be retained once returned.
+     */
+    public boolean lowMemory() {
+        return lowMemory;
+    }
+
+    public static class Builder {
+
+        private SourceAnalysisConfiguration configuration = new SourceAnalysisConfiguration();
+
+        public Builder workers(int workers) {
+            configuration.workers = workers;
+            return this;
+        }
+
+        public Builder sourcesCacheDirectory(File sourcesCacheDirectory) {
+            requireNonNull(sourcesCacheDirectory);
+            configuration.sourcesCacheDirectory = sourcesCacheDirectory;
+            return this;
+        }
+
+        public Builder lowMemory(boolean lowMemory) {
+            configuration.lowMemory = lowMemory;
+            return this;
+        }
+
+        public SourceAnalysisConfiguration build() {
+            requireNonNull(configuration.sourcesCacheDirectory);
+            return configuration;
+        }
+    }
+
+    private SourceAnalysisConfiguration() {
+
+    }
+}
@@ -0,0 +1,381 @@
+package poussecafe.maven;
+
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>Mirror of a source directory in which code is generated before being committed to the actual source directory.
+ * The mirror is kept between builds: staging only copies the files that were created or modified in the source
+ * directory since last staging (i.e. whose size or modification time changed) and removes the files that no longer
+ * exist in it.</p>
+ *
+ * <p>Only created or modified files are written back to the source directory. If writing one of them fails, the files
+ * already written are restored. Files that did not change keep their modification time. If restoring fails as well, or
+ * if the process is interrupted while writing, the previous content of the files is kept in a backup directory and no
+ * further commit is accepted until the backup directory is removed.</p>
+ */
+public class SourceDirectoryStaging implements AutoCloseable {
+
+    /**
+     * @param stagingRoot The directory in which the mirror and the working files of the staging are kept. It must not
+     *        be inside source directory.
+     */
+    public static SourceDirectoryStaging stage(Path sourceDirectory, Path stagingRoot) throws IOException {
+        return stage(sourceDirectory, stagingRoot, SourceDirectoryStaging::move);
+    }
+
+    static SourceDirectoryStaging stage(Path sourceDirectory, Path stagingRoot, FileMove fileMove)
+            throws IOException {
+        var staging = new SourceDirectoryStaging(sourceDirectory, stagingRoot, fileMove);
+        staging.synchronizeMirror();
+        return staging;
+    }
+
+    /**
+     * Moves a file, replacing target if it exists.
+     */
+    @FunctionalInterface
+    interface FileMove {
+
+        void move(Path file, Path target) throws IOException;
+    }
+
+    private SourceDirectoryStaging(Path sourceDirectory, Path stagingRoot, FileMove fileMove) {
+        requireNonNull(sourceDirectory);
+        this.sourceDirectory = sourceDirectory;
+        requireNonNull(stagingRoot);
+        if(stagingRoot.toAbsolutePath().normalize().startsWith(sourceDirectory.toAbsolutePath().normalize())) {
+            throw new IllegalArgumentException("Staging directory must be outside of source directory");
+        }
+        stagingDirectory = stagingRoot.resolve("sources");
+        workDirectory = stagingRoot.resolve("work");
+        backupDirectory = stagingRoot.resolve("backup");
+        requireNonNull(fileMove);
+        this.fileMove = fileMove;
+    }
+
+    private Path sourceDirectory;
+
+    private Path stagingDirectory;
+
+    private Path workDirectory;
+
+    private Path backupDirectory;
+
+    private FileMove fileMove;
+
+    private void synchronizeMirror() throws IOException {
+        Files.createDirectories(stagingDirectory);
+        var sourceFiles = regularFiles(sourceDirectory);
+        for(Map.Entry<String, Entry> stagedFile : regularFiles(stagingDirectory).entrySet()) {
+            if(!sourceFiles.containsKey(stagedFile.getKey())) {
+                Files.delete(stagedFile.getValue().path);
+            }
+        }
+        for(Map.Entry<String, Entry> sourceFile : sourceFiles.entrySet()) {
+            var relativePath = sourceFile.getKey();
+            var sourceStat = sourceFile.getValue().stat;
+            var stagedFile = stagingDirectory.resolve(relativePath);
+            if(!sourceStat.equals(stat(stagedFile).orElse(null))) {
+                if(Files.isDirectory(stagedFile)) {
+                    deleteTree(stagedFile);
+                }
+                Files.createDirectories(stagedFile.getParent());
+                Files.copy(sourceFile.getValue().path, stagedFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.COPY_ATTRIBUTES);
+                ++copiedFiles;
+            }
+            sourceSnapshot.put(relativePath, sourceStat);
+        }
+    }
+
+    private static class Entry {
+
+        Entry(Path path, FileStat stat) {
+            this.path = path;
+            this.stat = stat;
+        }
+
+        final Path path;
+
+        final FileStat stat;
+    }
+
+    private static class FileStat {
+
+        FileStat(BasicFileAttributes attributes) {
+            size = attributes.size();
+            lastModified = attributes.lastModifiedTime().toMillis();
+        }
+
+        final long size;
+
+        final long lastModified;
+
+        @Override
+        public boolean equals(Object obj) {
+            if(this == obj) {
+                return true;
+            }
+            if(obj == null || getClass() != obj.getClass()) {
+                return false;
+            }
+            var other = (FileStat) obj;
+            return size == other.size && lastModified == other.lastModified;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(size, lastModified);
+        }
+    }
+
+    private static Map<String, Entry> regularFiles(Path directory) throws IOException {
+        Map<String, Entry> files = new HashMap<>();
+        if(Files.isDirectory(directory)) {
+            try(var stream = Files.walk(directory)) {
+                for(Path file : stream.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                    var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    files.put(directory.relativize(file).toString(), new Entry(file, new FileStat(attributes)));
+                }
+            }
+        }
+        return files;
+    }
+
+    private static Optional<FileStat> stat(Path file) throws IOException {
+        if(Files.isRegularFile(file)) {
+            return Optional.of(new FileStat(Files.readAttributes(file, BasicFileAttributes.class)));
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * The state of source directory when it was staged.
+     */
+    private Map<String, FileStat> sourceSnapshot = new HashMap<>();
+
+    public Path sourceDirectory() {
+        return sourceDirectory;
+    }
+
+    public Path stagingDirectory() {
+        return stagingDirectory;
+    }
+
+    /**
+     * @return The directory where the previous content of committed files is kept while committing. It only exists
+     *         after a commit when the source directory could not be restored.
+     */
+    public Path backupDirectory() {
+        return backupDirectory;
+    }
+
+    public int stagedFiles() {
+        return sourceSnapshot.size();
+    }
+
+    private int copiedFiles;
+
+    /**
+     * @return The number of files copied to the mirror when staging, i.e. the files changed since last staging.
+     */
+    public int copiedFiles() {
+        return copiedFiles;
+    }
+
+    /**
+     * Detects the files of source directory created, modified or deleted since it was staged, e.g. written by code
+     * generation through a path of current model instead of through staging directory. Such changes are only
+     * reported: they may also come from the user, the staged version of modified or deleted files is still available
+     * in staging directory though.
+     *
+     * @return The files that were changed directly, relative to source directory.
+     */
+    public List<Path> directChanges() throws IOException {
+        List<Path> changedFiles = new ArrayList<>();
+        var sourceFiles = regularFiles(sourceDirectory);
+        for(Map.Entry<String, Entry> sourceFile : sourceFiles.entrySet()) {
+            var snapshotStat = sourceSnapshot.get(sourceFile.getKey());
+            if(!sourceFile.getValue().stat.equals(snapshotStat)) {
+                changedFiles.add(Path.of(sourceFile.getKey()));
+            }
+        }
+        for(String snapshotFile : sourceSnapshot.keySet()) {
+            if(!sourceFiles.containsKey(snapshotFile)) {
+                changedFiles.add(Path.of(snapshotFile));
+            }
+        }
+        Collections.sort(changedFiles);
+        return changedFiles;
+    }
+
+    public static class Changes {
+
+        private List<Path> createdFiles = new ArrayList<>();
+
+        public List<Path> createdFiles() {
+            return Collections.unmodifiableList(createdFiles);
+        }
+
+        private List<Path> modifiedFiles = new ArrayList<>();
+
+        public List<Path> modifiedFiles() {
+            return Collections.unmodifiableList(modifiedFiles);
+        }
+
+        private int unchangedFiles;
+
+        public int unchangedFiles() {
+            return unchangedFiles;
+        }
+
+        public boolean isEmpty() {
+            return createdFiles.isEmpty() && modifiedFiles.isEmpty();
+        }
+    }
+
+    /**
+     * @return The files of staging directory created or modified compared to source directory. Paths are relative to
+     * the directories. Staged files whose size and modification time did not change since staging are not read.
+     */
+    public Changes changes() throws IOException {
+        var changes = new Changes();
+        var stagedFiles = regularFiles(stagingDirectory);
+        for(String relativePath : stagedFiles.keySet().stream().sorted().collect(Collectors.toList())) {
+            var stagedFile = stagedFiles.get(relativePath);
+            var snapshotStat = sourceSnapshot.get(relativePath);
+            if(snapshotStat == null) {
+                changes.createdFiles.add(Path.of(relativePath));
+            } else if(snapshotStat.equals(stagedFile.stat)
+                    || sameContent(stagedFile.path, sourceDirectory.resolve(relativePath))) {
+                ++changes.unchangedFiles;
+            } else {
+                changes.modifiedFiles.add(Path.of(relativePath));
+            }
+        }
+        return changes;
+    }
+
+    private boolean sameContent(Path file1, Path file2) throws IOException {
+        return Files.size(file1) == Files.size(file2)
+                && Arrays.equals(Files.readAllBytes(file1), Files.readAllBytes(file2));
+    }
+
+    /**
+     * Writes given changes to source directory. Each file is first copied to a working directory outside of source
+     * directory, then moved to source directory (atomically if supported). If a file cannot be written, the files
+     * already written are restored to their previous content, or deleted if they were created. If some of them cannot
+     * be restored, the backup directory is kept and its path is given by the thrown exception.
+     *
+     * @throws IOException If a backup directory was left by a previous commit, nothing is written then.
+     */
+    public void commit(Changes changes) throws IOException {
+        if(Files.exists(backupDirectory)) {
+            throw new IOException("Backup directory " + backupDirectory + " was left by a commit which could not be "
+                    + "completed: restore the files it contains to " + sourceDirectory + " if needed, then delete it");
+        }
+        deleteTree(workDirectory);
+        Files.createDirectories(workDirectory);
+        Files.createDirectories(backupDirectory);
+
+        List<Path> changedFiles = new ArrayList<>(changes.createdFiles);
+        changedFiles.addAll(changes.modifiedFiles);
+        Collections.sort(changedFiles);
+        List<Path> committedFiles = new ArrayList<>();
+        try {
+            for(Path relativePath : changedFiles) {
+                var sourceFile = sourceDirectory.resolve(relativePath.toString());
+                if(Files.exists(sourceFile)) {
+                    var backupFile = backupDirectory.resolve(relativePath.toString());
+                    Files.createDirectories(backupFile.getParent());
+                    Files.copy(sourceFile, backupFile, StandardCopyOption.COPY_ATTRIBUTES);
+                }
+                var pendingFile = workDirectory.resolve(relativePath.toString());
+                Files.createDirectories(pendingFile.getParent());
+                Files.copy(stagingDirectory.resolve(relativePath.toString()), pendingFile,
+                        StandardCopyOption.REPLACE_EXISTING);
+                Files.createDirectories(sourceFile.getParent());
+                committedFiles.add(relativePath);
+                fileMove.move(pendingFile, sourceFile);
+            }
+        } catch (IOException e) {
+            rollback(committedFiles, e);
+        }
+        deleteTree(workDirectory);
+        deleteTree(backupDirectory);
+    }
+
+    private static void move(Path file, Path target) throws IOException {
+        try {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void rollback(List<Path> committedFiles, IOException cause) throws IOException {
+        List<Path> unrestoredFiles = new ArrayList<>();
+        for(Path relativePath : committedFiles) {
+            var sourceFile = sourceDirectory.resolve(relativePath.toString());
+            var backupFile = backupDirectory.resolve(relativePath.toString());
+            try {
+                if(Files.exists(backupFile)) {
+                    fileMove.move(backupFile, sourceFile);
+                } else {
+                    Files.deleteIfExists(sourceFile);
+                }
+            } catch (IOException e) {
+                unrestoredFiles.add(relativePath);
+                cause.addSuppressed(e);
+            }
+        }
+
+        if(unrestoredFiles.isEmpty()) {
+            deleteTree(backupDirectory);
+            throw cause;
+        } else {
+            throw new IOException("Unable to restore " + unrestoredFiles + " in " + sourceDirectory
+                    + " after a failed commit, their previous content is kept in " + backupDirectory
+                    + " (files missing from it did not exist before the commit)", cause);
+        }
+    }
+
+    /**
+     * Deletes the working files of the staging, the mirror is kept for next staging. The backup directory, if any, is
+     * kept as well.
+     */
+    @Override
+    public void close() throws IOException {
+        deleteTree(workDirectory);
+    }
+
+    private static void deleteTree(Path directory) throws IOException {
+        if(Files.exists(directory)) {
+            List<Path> paths;
+            try(var stream = Files.walk(directory)) {
+                paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+            }
+            for(Path path : paths) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package poussecafe.maven;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>Persistent index of the files a model is built from. Each file is described by its size, last modification time
+ * and content hash. A file's hash is only recomputed when its size or last modification time changed since previous
+ * index.</p>
+ *
+ * <p>The fingerprint of the index changes as soon as a file is added, modified or deleted, or when the plugin version
+ * changes. Files may be hashed by several workers sharing a single pool, the resulting index does not depend on the
+ * number of workers.</p>
+ */
+public class SourceIndex {
+
+    public static Optional<SourceIndex> load(Path indexFile) {
+        if(!Files.isRegularFile(indexFile)) {
+            return Optional.empty();
+        }
+        try(Reader reader = Files.newBufferedReader(indexFile, StandardCharsets.UTF_8)) {
+            var properties = new Properties();
+            properties.load(reader);
+            var index = new SourceIndex();
+            index.pluginVersion = properties.getProperty(PLUGIN_VERSION_KEY);
+            if(index.pluginVersion == null) {
+                return Optional.empty();
+            }
+            for(String key : properties.stringPropertyNames()) {
+                if(!key.equals(PLUGIN_VERSION_KEY)) {
+                    index.entries.put(key, Entry.parse(properties.getProperty(key)));
+                }
+            }
+            return Optional.of(index);
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static final String PLUGIN_VERSION_KEY = "plugin.version";
+
+    private static class Entry {
+
+        static Entry parse(String value) {
+            var elements = value.split(",");
+            if(elements.length != 3) {
+                throw new IllegalArgumentException("Malformed index entry " + value);
+            }
+            return new Entry(Long.parseLong(elements[0]), Long.parseLong(elements[1]), elements[2]);
+        }
+
+        Entry(long size, long lastModified, String hash) {
+            this.size = size;
+            this.lastModified = lastModified;
+            this.hash = hash;
+        }
+
+        final long size;
+
+        final long lastModified;
+
+        final String hash;
+
+        boolean sameAttributes(long size, long lastModified) {
+            return this.size == size && this.lastModified == lastModified;
+        }
+
+        @Override
+        public String toString() {
+            return size + "," + lastModified + "," + hash;
+        }
+    }
+
+    private SourceIndex() {
+
+    }
+
+    private String pluginVersion;
+
+    private Map<String, Entry> entries = new TreeMap<>();
+
+    public String pluginVersion() {
+        return pluginVersion;
+    }
+
+    public Set<String> files() {
+        return entries.keySet();
+    }
+
+    public Optional<String> hash(String file) {
+        return Optional.ofNullable(entries.get(file)).map(entry -> entry.hash);
+    }
+
+    public String fingerprint() {
+        if(fingerprint == null) {
+            var digest = Digests.sha256();
+            Digests.update(digest, pluginVersion);
+            for(Map.Entry<String, Entry> entry : entries.entrySet()) {
+                Digests.update(digest, entry.getKey());
+                Digests.update(digest, entry.getValue().hash);
+            }
+            fingerprint = Digests.hex(digest.digest());
+        }
+        return fingerprint;
+    }
+
+    private String fingerprint;
+
+    public Set<String> changedFiles(SourceIndex previous) {
+        return entries.entrySet().stream()
+                .filter(entry -> !previous.hash(entry.getKey()).equals(Optional.of(entry.getValue().hash)))
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    public Set<String> deletedFiles(SourceIndex previous) {
+        return previous.entries.keySet().stream()
+                .filter(file -> !entries.containsKey(file))
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    public void save(Path indexFile) throws IOException {
+        var properties = new Properties();
+        properties.setProperty(PLUGIN_VERSION_KEY, pluginVersion);
+        for(Map.Entry<String, Entry> entry : entries.entrySet()) {
+            properties.setProperty(entry.getKey(), entry.getValue().toString());
+        }
+
+        Files.createDirectories(indexFile.getParent());
+        var temporaryFile = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), ".tmp");
+        try(Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        Files.move(temporaryFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static class Builder {
+
+        private SourceIndex index = new SourceIndex();
+
+        private Optional<SourceIndex> previous = Optional.empty();
+
+        public Builder previous(Optional<SourceIndex> previous) {
+            requireNonNull(previous);
+            this.previous = previous;
+            return this;
+        }
+
+        public Builder pluginVersion(String pluginVersion) {
+            index.pluginVersion = pluginVersion;
+            return this;
+        }
+
+        public Builder workers(int workers) {
+            if(workers < 1) {
+                throw new IllegalArgumentException("Workers count must be strictly positive");
+            }
+            this.workers = workers;
+            return this;
+        }
+
+        private int workers = 1;
+
+        /**
+         * Lists the files of given tree. Files are only hashed when the index is built, all trees being hashed
+         * together.
+         */
+        public Builder includeTree(Path path) throws IOException {
+            if(Files.isDirectory(path)) {
+                try(var stream = Files.walk(path)) {
+                    stream.filter(Files::isRegularFile).forEach(files::add);
+                }
+            } else if(Files.isRegularFile(path)) {
+                files.add(path);
+            }
+            return this;
+        }
+
+        private List<Path> files = new ArrayList<>();
+
+        private List<Map.Entry<String, Entry>> entries() throws IOException {
+            if(workers == 1 || files.size() <= 1) {
+                List<Map.Entry<String, Entry>> newEntries = new ArrayList<>(files.size());
+                for(Path file : files) {
+                    newEntries.add(entry(file));
+                }
+                return newEntries;
+            } else {
+                return entriesInParallel();
+            }
+        }
+
+        private List<Map.Entry<String, Entry>> entriesInParallel() throws IOException {
+            var pool = new ForkJoinPool(workers);
+            try {
+                return pool.submit(() -> files.parallelStream()
+                        .map(this::uncheckedEntry)
+                        .collect(Collectors.toList()))
+                    .get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while indexing files", e);
+            } catch (ExecutionException e) {
+                if(e.getCause() instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) e.getCause()).getCause();
+                } else {
+                    throw new IOException("Unable to index files", e.getCause());
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        private Map.Entry<String, Entry> uncheckedEntry(Path file) {
+            try {
+                return entry(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private Map.Entry<String, Entry> entry(Path file) throws IOException {
+            var attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            var key = file.toAbsolutePath().normalize().toString();
+            var size = attributes.size();
+            var lastModified = attributes.lastModifiedTime().toMillis();
+            var previousEntry = previous.map(previousIndex -> previousIndex.entries.get(key));
+            String hash;
+            if(previousEntry.isPresent() && previousEntry.get().sameAttributes(size, lastModified)) {
+                hash = previousEntry.get().hash;
+            } else {
+                hash = Digests.hash(file);
+            }
+            return Map.entry(key, new Entry(size, lastModified, hash));
+        }
+
+        public SourceIndex build() throws IOException {
+            requireNonNull(index.pluginVersion);
+            for(Map.Entry<String, Entry> entry : entries()) {
+                index.entries.put(entry.getKey(), entry.getValue());
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package poussecafe.maven;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Singleton;
+import poussecafe.source.model.SourceModel;
+
+/**
+ * <p>Keeps the last model built for each project along with the fingerprint of the sources and classpath it was built
+ * from. As long as the plugin's class realm is kept alive (e.g. when running with a Maven daemon), a model built from
+ * unchanged sources and classpath is reused instead of being re-built. Models are kept in memory only, a new JVM
+ * builds them again.</p>
+ */
+@Singleton
+public class SourceModelCache {
+
+    public Optional<SourceModel> get(String projectKey, String fingerprint) {
+        var cachedModel = models.get(projectKey);
+        if(cachedModel != null && cachedModel.fingerprint.equals(fingerprint)) {
+            return Optional.of(cachedModel.model);
+        } else {
+            return Optional.empty();
+        }
+    }
+
+    private Map<String, CachedModel> models = new ConcurrentHashMap<>();
+
+    private static class CachedModel {
+
+        CachedModel(String fingerprint, SourceModel model) {
+            this.fingerprint = fingerprint;
+            this.model = model;
+        }
+
+        final String fingerprint;
+
+        final SourceModel model;
+    }
+
+    public void put(String projectKey, String fingerprint, SourceModel model) {
+        models.put(projectKey, new CachedModel(fingerprint, model));
+    }
+
+    public void remove(String projectKey) {
+        models.remove(projectKey);
+    }
+}
@@ -0,0 +1,68 @@
+package poussecafe.maven;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import poussecafe.source.model.Aggregate;
+import poussecafe.source.model.Command;
+import poussecafe.source.model.DomainEvent;
+import poussecafe.source.model.MessageListener;
+import poussecafe.source.model.ProcessModel;
+import poussecafe.source.model.Runner;
+import poussecafe.source.model.SourceModel;
+import poussecafe.source.model.SourceModelBuilder;
+
+/**
+ * <p>Merges models built separately (e.g. one per EMIL file). Aggregates, processes, commands, events and runners
+ * are merged by name, the definitions of an element found in several models must be equal. Message listeners
+ * found in several models are kept once.</p>
+ */
+class SourceModelMerge {
+
+    void add(String source, SourceModel model) {
+        model.aggregates().forEach(aggregate -> aggregates.add(aggregate.simpleName(), aggregate, source));
+        model.processes().forEach(process -> processes.add(process.simpleName(), process, source));
+        model.commands().forEach(command -> commands.add(command.simpleName(), command, source));
+        model.events().forEach(event -> events.add(event.simpleName(), event, source));
+        model.runners().forEach(runner -> runners.add(runner.simpleName(), runner, source));
+        messageListeners.addAll(model.messageListeners());
+    }
+
+    private MergedElements<Aggregate> aggregates = new MergedElements<>("Aggregate");
+
+    private MergedElements<ProcessModel> processes = new MergedElements<>("Process");
+
+    private MergedElements<Command> commands = new MergedElements<>("Command");
+
+    private MergedElements<DomainEvent> events = new MergedElements<>("Event");
+
+    private MergedElements<Runner> runners = new MergedElements<>("Runner");
+
+    private Set<MessageListener> messageListeners = new LinkedHashSet<>();
+
+    /**
+     * @return The description of each element defined differently by two models.
+     */
+    List<String> conflicts() {
+        List<String> conflicts = new ArrayList<>();
+        conflicts.addAll(aggregates.conflicts());
+        conflicts.addAll(processes.conflicts());
+        conflicts.addAll(commands.conflicts());
+        conflicts.addAll(events.conflicts());
+        conflicts.addAll(runners.conflicts());
+        return conflicts;
+    }
+
+    SourceModel build() {
+        var builder = new SourceModelBuilder();
+        aggregates.elements().forEach(aggregate -> builder.putAggregate(new Aggregate.Builder()
+                .startingFrom(aggregate)));
+        processes.elements().forEach(builder::putProcess);
+        commands.elements().forEach(builder::putCommand);
+        events.elements().forEach(builder::putEvent);
+        runners.elements().forEach(builder::putRunner);
+        messageListeners.forEach(builder::putMessageListener);
+        return builder.build();
+    }
+}
@@ -0,0 +1,144 @@
+package poussecafe.maven;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>Cache of extracted sources archives. The Java files of an archive are extracted once in a directory named after
+ * the hash of the artifact's coordinates and of the archive's size and modification time, later builds (of any
+ * project sharing the cache) directly use the extracted files. The archive itself is only read when extracting.</p>
+ *
+ * <p>The modification time of an extracted directory is updated when it is used. Directories not used for
+ * {@value #RETENTION_DAYS} days are removed when another archive is extracted.</p>
+ */
+public class SourcesArtifactCache {
+
+    public SourcesArtifactCache(Path cacheDirectory) {
+        requireNonNull(cacheDirectory);
+        this.cacheDirectory = cacheDirectory;
+    }
+
+    private Path cacheDirectory;
+
+    /**
+     * @param coordinates The coordinates of the sources artifact.
+     * @param archive The sources archive of the artifact.
+     */
+    public Path extractedSources(String coordinates, Path archive) throws IOException {
+        var hash = key(coordinates, archive);
+        var extractedSources = cacheDirectory.resolve(hash);
+        if(Files.isDirectory(extractedSources)) {
+            touch(extractedSources);
+            return extractedSources;
+        }
+
+        Files.createDirectories(cacheDirectory);
+        evictUnused();
+        var temporaryDirectory = Files.createTempDirectory(cacheDirectory, hash + ".");
+        try {
+            extract(archive, temporaryDirectory);
+            Files.move(temporaryDirectory, extractedSources, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteTree(temporaryDirectory);
+            if(!Files.isDirectory(extractedSources)) {
+                throw e;
+            }
+        }
+        return extractedSources;
+    }
+
+    private String key(String coordinates, Path archive) throws IOException {
+        var attributes = Files.readAttributes(archive, BasicFileAttributes.class);
+        var digest = Digests.sha256();
+        Digests.update(digest, coordinates);
+        Digests.update(digest, Long.toString(attributes.size()));
+        Digests.update(digest, Long.toString(attributes.lastModifiedTime().toMillis()));
+        return Digests.hex(digest.digest());
+    }
+
+    /**
+     * Updates the modification time of given directory at most once a day, so that using the cache does not write to
+     * it on each build.
+     */
+    private void touch(Path extractedSources) {
+        try {
+            var now = Instant.now();
+            var lastUse = Files.getLastModifiedTime(extractedSources).toInstant();
+            if(lastUse.isBefore(now.minus(1, ChronoUnit.DAYS))) {
+                Files.setLastModifiedTime(extractedSources, FileTime.from(now));
+            }
+        } catch (IOException e) {
+            // Directory will be extracted again if evicted
+        }
+    }
+
+    private static final int RETENTION_DAYS = 30;
+
+    private void evictUnused() throws IOException {
+        var limit = Instant.now().minus(RETENTION_DAYS, ChronoUnit.DAYS);
+        List<Path> unusedDirectories;
+        try(var stream = Files.list(cacheDirectory)) {
+            unusedDirectories = stream.filter(Files::isDirectory)
+                    .filter(directory -> lastModified(directory).isBefore(limit))
+                    .collect(Collectors.toList());
+        }
+        for(Path unusedDirectory : unusedDirectories) {
+            try {
+                deleteTree(unusedDirectory);
+            } catch (IOException e) {
+                // Directory may be in use or already removed by another build, next extraction will retry
+            }
+        }
+    }
+
+    private Instant lastModified(Path directory) {
+        try {
+            return Files.getLastModifiedTime(directory).toInstant();
+        } catch (IOException e) {
+            return Instant.MAX;
+        }
+    }
+
+    private void extract(Path archive, Path targetDirectory) throws IOException {
+        try(var zipFile = new ZipFile(archive.toFile())) {
+            List<? extends ZipEntry> sourceEntries = zipFile.stream()
+                    .filter(entry -> !entry.isDirectory() && entry.getName().endsWith(".java"))
+                    .collect(Collectors.toList());
+            for(ZipEntry entry : sourceEntries) {
+                var targetFile = targetDirectory.resolve(entry.getName()).normalize();
+                if(!targetFile.startsWith(targetDirectory)) {
+                    throw new IOException("Entry " + entry.getName() + " is outside of target directory");
+                }
+                Files.createDirectories(targetFile.getParent());
+                try(var inputStream = zipFile.getInputStream(entry)) {
+                    Files.copy(inputStream, targetFile);
+                }
+            }
+        }
+    }
+
+    private void deleteTree(Path directory) throws IOException {
+        if(Files.exists(directory)) {
+            List<Path> paths;
+            try(var stream = Files.walk(directory)) {
+                paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+            }
+            for(Path path : paths) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
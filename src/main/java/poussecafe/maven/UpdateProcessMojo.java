@@ -6,14 +6,12 @@ import java.lang.ProcessBuilder.Redirect;
 import java.nio.file.Files;
 import java.util.Optional;
 import javax.inject.Inject;
-import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.execution.MavenSession;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
-import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
-import org.apache.maven.project.MavenProject;
 import poussecafe.storage.internal.InternalStorage;
 
 import static poussecafe.collection.Collections.asSet;
@@ -31,28 +29,38 @@ import static poussecafe.collection.Collections.asSet;
     requiresDependencyCollection = ResolutionScope.COMPILE_PLUS_RUNTIME,
     requiresDirectInvocation = true
 )
-public class UpdateProcessMojo extends AbstractMojo {
+public class UpdateProcessMojo extends AbstractSourceAnalysisMojo {
 
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
-        classPathConfigurator.configureClassPath(project, descriptor);
-
-        try {
-            var currentModel = modelOperations.buildModelFromSource(getLog(), project);
-            var temporaryFile = File.createTempFile(processName, ".emil");
-            modelOperations.exportProcess(currentModel, Optional.ofNullable(processName), temporaryFile);
-            var initialContent = Files.readString(temporaryFile.toPath());
-            editEmil(temporaryFile);
-            var newContent = Files.readString(temporaryFile.toPath());
-            if(sameContent(initialContent, newContent)) {
-                getLog().info("No change detected, skipping update");
-            } else {
-                var newModel = modelOperations.buildModelFromEmil(getLog(), temporaryFile, basePackage);
-                modelOperations.importModel(Optional.of(currentModel), newModel, sourceDirectory,
-                        asSet(storageAdapters), Optional.ofNullable(codeFormatterProfile));
+        try(var recording = phaseRecorder.start(getLog(), "update-process", project(), reportTimings())) {
+            classPathConfigurator.configureClassPath(project(), descriptor());
+
+            try(var staging = modelOperations.stage(sourceDirectory, ModelOperations.stateDirectory(project()))) {
+                var currentModel = modelOperations.buildModelFromSource(getLog(), project(),
+                        sourceAnalysisConfiguration(), staging);
+                var temporaryFile = File.createTempFile(processName, ".emil");
+                modelOperations.exportProcess(currentModel, Optional.ofNullable(processName), temporaryFile);
+                var initialContent = Files.readString(temporaryFile.toPath());
+                editEmil(temporaryFile);
+                var newContent = Files.readString(temporaryFile.toPath());
+                if(sameContent(initialContent, newContent)) {
+                    getLog().info("No change detected, skipping update");
+                } else {
+                    var newModel = modelOperations.buildModelFromEmil(getLog(), temporaryFile, basePackage);
+                    try {
+                        modelOperations.importModel(getLog(), staging, Optional.of(currentModel), newModel,
+                                classPathConfigurator.classResolver(getLog(), project(), descriptor()),
+                                asSet(storageAdapters), Optional.ofNullable(codeFormatterProfile), workers(), dryRun);
+                    } finally {
+                        if(!dryRun) {
+                            modelOperations.invalidateModel(session, project());
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new MojoFailureException("Unable to update process", e);
             }
-        } catch (IOException e) {
-            throw new MojoFailureException("Unable to update process", e);
         }
     }
 
@@ -78,6 +86,9 @@ public class UpdateProcessMojo extends AbstractMojo {
     @Inject
     private ClassPathConfigurator classPathConfigurator;
 
+    @Inject
+    private PhaseRecorder phaseRecorder;
+
     @Inject
     private ModelOperations modelOperations;
 
@@ -128,9 +139,15 @@ public class UpdateProcessMojo extends AbstractMojo {
     @Parameter(property = "codeFormatterProfile")
     private File codeFormatterProfile;
 
-    @Parameter(defaultValue = "${project}", readonly = true)
-    private MavenProject project;
+    /**
+     * If true, code is generated but not written to source directory. Files that would be created or modified are
+     * listed instead.
+     *
+     * @since 0.24
+     */
+    @Parameter(defaultValue = "false", property = "dryRun")
+    private boolean dryRun;
 
-    @Parameter(defaultValue = "${plugin}", readonly = true)
-    private PluginDescriptor descriptor;
+    @Parameter(defaultValue = "${session}", readonly = true)
+    private MavenSession session;
 }
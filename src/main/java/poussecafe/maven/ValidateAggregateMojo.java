@@ -0,0 +1,33 @@
+package poussecafe.maven;
+
+import javax.inject.Inject;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+/**
+ * <p>Validates the source code of all the projects of the reactor at once. Components referencing each other
+ * across projects are validated together.</p>
+ * <p>Error or warning messages are generated. The build fails if errors are detected.</p>
+ */
+@Mojo(
+    name = "validate-aggregate",
+    aggregator = true,
+    requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME,
+    requiresDependencyCollection = ResolutionScope.COMPILE_PLUS_RUNTIME
+)
+public class ValidateAggregateMojo extends AbstractValidationMojo {
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        var project = project();
+        try(var recording = phaseRecorder.start(getLog(), "validate-aggregate", project, reportTimings())) {
+            validate(reactorProjects(), ModelOperations.stateDirectory(project)
+                    .resolve(ModelOperations.REACTOR_STATE_DIRECTORY_NAME));
+        }
+    }
+
+    @Inject
+    private PhaseRecorder phaseRecorder;
+}
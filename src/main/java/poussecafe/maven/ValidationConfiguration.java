@@ -0,0 +1,76 @@
+package poussecafe.maven;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+
+public class ValidationConfiguration {
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    private List<String> basePackages = new ArrayList<>();
+
+    public List<String> basePackages() {
+        return Collections.unmodifiableList(basePackages);
+    }
+
+    private List<String> storageAdapters = new ArrayList<>();
+
+    public List<String> storageAdapters() {
+        return Collections.unmodifiableList(storageAdapters);
+    }
+
+    private boolean incremental;
+
+    public boolean incremental() {
+        return incremental;
+    }
+
+    private int workers;
+
+    /**
+     * @return The number of workers to use, 0 meaning one per available processor.
+     */
+    public int workers() {
+        return workers;
+    }
+
+    public static class Builder {
+
+        private ValidationConfiguration configuration = new ValidationConfiguration();
+
+        public Builder basePackages(List<String> basePackages) {
+            requireNonNull(basePackages);
+            configuration.basePackages.addAll(basePackages);
+            return this;
+        }
+
+        public Builder storageAdapters(List<String> storageAdapters) {
+            requireNonNull(storageAdapters);
+            configuration.storageAdapters.addAll(storageAdapters);
+            return this;
+        }
+
+        public Builder incremental(boolean incremental) {
+            configuration.incremental = incremental;
+            return this;
+        }
+
+        public Builder workers(int workers) {
+            configuration.workers = workers;
+            return this;
+        }
+
+        public ValidationConfiguration build() {
+            return configuration;
+        }
+    }
+
+    private ValidationConfiguration() {
+
+    }
+}
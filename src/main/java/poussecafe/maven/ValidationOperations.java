@@ -0,0 +1,216 @@
+package poussecafe.maven;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import javax.inject.Inject;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugin.descriptor.PluginDescriptor;
+import org.apache.maven.plugin.logging.Log;
+import org.apache.maven.project.MavenProject;
+import poussecafe.discovery.ReflectionsWrapper;
+import poussecafe.source.analysis.ClassResolver;
+import poussecafe.source.validation.ReflectionsClassPathExplorer;
+import poussecafe.source.validation.ValidationMessageType;
+import poussecafe.source.validation.ValidationModelBuilder;
+import poussecafe.source.validation.ValidationResult;
+import poussecafe.source.validation.Validator;
+import poussecafe.source.validation.types.InteralStorageTypesValidator;
+import poussecafe.spring.jpa.storage.SpringJpaStorage;
+import poussecafe.spring.jpa.storage.source.JpaTypesValidator;
+import poussecafe.spring.mongo.storage.SpringMongoDbStorage;
+import poussecafe.spring.mongo.storage.source.MongoTypesValidator;
+import poussecafe.storage.internal.InternalStorage;
+
+public class ValidationOperations {
+
+    /**
+     * Validates given source roots. If validation inputs did not change since last validation and incremental
+     * validation is enabled, the state of last validation is returned instead.
+     *
+     * @param projects The projects whose classes are validated, their classpath must be configured.
+     * @param descriptor The descriptor of the plugin whose class realm is explored.
+     * @param stateDirectory The directory where validation state is persisted.
+     */
+    public ValidationState validate(Log log,
+            ValidationConfiguration configuration,
+            List<Path> sourceRoots,
+            List<MavenProject> projects,
+            PluginDescriptor descriptor,
+            Path stateDirectory) throws MojoExecutionException {
+        var classPathIndex = classPathConfigurator.indexClassPath(log, projects, descriptor,
+                stateDirectory.resolve(ClassPathConfigurator.CLASSPATH_INDEX_FILE_NAME));
+        var explorableBasePackages = explorableBasePackages(log, configuration.basePackages(), classPathIndex);
+
+        var stateFile = stateDirectory.resolve("validation-state.properties");
+        var fingerprint = validationFingerprint(log, configuration, sourceRoots, compileClasspath(projects),
+                classPathIndex, stateDirectory);
+        Optional<ValidationState> upToDateState = Optional.empty();
+        if(configuration.incremental()) {
+            upToDateState = ValidationState.load(stateFile)
+                    .filter(state -> state.fingerprint().equals(fingerprint));
+        }
+
+        ValidationState state;
+        if(upToDateState.isPresent()) {
+            log.info("Sources, classpath and configuration did not change since last validation.");
+            state = upToDateState.get();
+        } else {
+            state = ValidationState.of(fingerprint, validate(configuration, sourceRoots, explorableBasePackages,
+                    new IndexedClassResolver(classPathIndex)));
+            try {
+                state.save(stateFile);
+            } catch (IOException e) {
+                log.warn("Unable to save validation state to " + stateFile + ": " + e.getMessage());
+            }
+        }
+        return state;
+    }
+
+    private List<String> compileClasspath(List<MavenProject> projects) throws MojoExecutionException {
+        try {
+            List<String> elements = new ArrayList<>();
+            for(MavenProject project : projects) {
+                elements.addAll(project.getCompileClasspathElements());
+            }
+            return elements;
+        } catch (DependencyResolutionRequiredException e) {
+            throw new MojoExecutionException("Unable to get compile classpath", e);
+        }
+    }
+
+    /**
+     * The classpath part of the fingerprint only covers the compile classpath of validated projects: plugin's own
+     * dependencies only change with plugin's version, which is already part of sources' fingerprint.
+     */
+    private String validationFingerprint(Log log,
+            ValidationConfiguration configuration,
+            List<Path> sourceRoots,
+            List<String> compileClasspath,
+            ClassPathIndex classPathIndex,
+            Path stateDirectory) throws MojoExecutionException {
+        var indexFile = stateDirectory.resolve("validation-index.properties");
+        var sourceIndex = modelOperations.indexSources(log, indexFile, sourceRoots, configuration.workers());
+
+        var digest = Digests.sha256();
+        Digests.update(digest, sourceIndex.fingerprint());
+        Digests.update(digest, classPathIndex.fingerprint(compileClasspath));
+        Digests.update(digest, new TreeSet<>(configuration.basePackages()).toString());
+        Digests.update(digest, new TreeSet<>(configuration.storageAdapters()).toString());
+        return Digests.hex(digest.digest());
+    }
+
+    @Inject
+    private ModelOperations modelOperations;
+
+    @Inject
+    private ClassPathConfigurator classPathConfigurator;
+
+    @Inject
+    private PhaseRecorder phaseRecorder;
+
+    /**
+     * Base packages not provided by any classpath element or being a sub-package of another base package are
+     * not explored. If no base package is left, classpath is not explored at all.
+     */
+    private List<String> explorableBasePackages(Log log, List<String> basePackages,
+            ClassPathIndex classPathIndex) {
+        List<String> explorableBasePackages = new ArrayList<>();
+        for(String basePackage : new TreeSet<>(basePackages)) {
+            if(basePackage.isBlank()) {
+                explorableBasePackages.add(basePackage);
+            } else if(explorableBasePackages.stream()
+                    .anyMatch(explorable -> !explorable.isBlank() && basePackage.startsWith(explorable + "."))) {
+                log.debug("Base package " + basePackage + " already explored with a parent package");
+            } else if(!classPathIndex.providesPackageTree(basePackage)) {
+                log.debug("No class found in base package " + basePackage + ", skipping its exploration");
+            } else {
+                explorableBasePackages.add(basePackage);
+            }
+        }
+        return explorableBasePackages;
+    }
+
+    private ValidationResult validate(ValidationConfiguration configuration,
+            List<Path> sourceRoots,
+            List<String> explorableBasePackages,
+            ClassResolver resolver) throws MojoExecutionException {
+        var validatorBuilder = new Validator.Builder();
+        try(var phase = phaseRecorder.phase("validation-model")) {
+            var modelBuilder = new ValidationModelBuilder(resolver);
+            for(Path path : sourceRoots) {
+                try {
+                    modelBuilder.includeTree(path);
+                } catch (IOException e) {
+                    throw new MojoExecutionException("Unable to include " + path, e);
+                }
+            }
+            validatorBuilder.model(modelBuilder.build());
+            phase.count("source roots", sourceRoots.size());
+        }
+
+        if(!explorableBasePackages.isEmpty()) {
+            ReflectionsWrapper reflections;
+            try(var phase = phaseRecorder.phase("classpath-scan")) {
+                reflections = new ReflectionsWrapper(explorableBasePackages);
+                phase.count("base packages", explorableBasePackages.size());
+            }
+            var classPathExplorer = Optional.of(new ReflectionsClassPathExplorer.Builder()
+                    .reflections(reflections)
+                    .resolver(resolver)
+                    .build());
+            validatorBuilder.classPathExplorer(classPathExplorer.orElseThrow());
+        }
+
+        for(String storageAdapterName : configuration.storageAdapters()) {
+            if(InternalStorage.NAME.equals(storageAdapterName)) {
+                validatorBuilder.storageTypesValidator(new InteralStorageTypesValidator());
+            } else if(SpringMongoDbStorage.NAME.equals(storageAdapterName)) {
+                validatorBuilder.storageTypesValidator(new MongoTypesValidator());
+            } else if(SpringJpaStorage.NAME.equals(storageAdapterName)) {
+                validatorBuilder.storageTypesValidator(new JpaTypesValidator());
+            } else {
+                throw new MojoExecutionException("Unsupported storage " + storageAdapterName);
+            }
+        }
+
+        try(var phase = phaseRecorder.phase("validation")) {
+            var validator = validatorBuilder.build();
+            validator.validate();
+            var result = validator.result();
+            phase.count("messages", result.messages().size());
+            return result;
+        }
+    }
+
+    public void report(Log logger, ValidationState state, boolean failOnWarn)
+            throws MojoExecutionException, MojoFailureException {
+        if(state.messages().isEmpty()) {
+            logger.info("No validation message.");
+        } else {
+            for(ValidationState.Message message : state.messages()) {
+                if(message.type() == ValidationMessageType.WARNING) {
+                    logger.warn(prefix(message) + message.text());
+                } else if(message.type() == ValidationMessageType.ERROR) {
+                    logger.error(prefix(message) + message.text());
+                } else {
+                    throw new MojoExecutionException("Unsupported message type " + message.type());
+                }
+            }
+            if(state.hasError() || (failOnWarn && state.hasWarning())) {
+                throw new MojoFailureException("Validation errors were detected");
+            }
+        }
+    }
+
+    private String prefix(ValidationState.Message message) {
+        var path = message.sourceId();
+        var line = message.line();
+        return path + " at line " + line + ": ";
+    }
+}
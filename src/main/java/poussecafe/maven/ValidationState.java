@@ -0,0 +1,178 @@
+package poussecafe.maven;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import poussecafe.source.validation.ValidationMessage;
+import poussecafe.source.validation.ValidationMessageType;
+import poussecafe.source.validation.ValidationResult;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * <p>The outcome of a validation along with the fingerprint of its inputs (sources, classpath and configuration).
+ * A validation state is persisted so that a later validation with the same inputs reports the same messages without
+ * analyzing the sources again.</p>
+ */
+public class ValidationState {
+
+    public static ValidationState of(String fingerprint, ValidationResult result) {
+        var state = new ValidationState();
+        state.fingerprint = requireNonNull(fingerprint);
+        for(ValidationMessage message : result.messages()) {
+            state.messages.add(new Message.Builder()
+                    .type(message.type())
+                    .sourceId(message.location().source().id())
+                    .line(message.location().line())
+                    .text(message.message())
+                    .build());
+        }
+        return state;
+    }
+
+    public static Optional<ValidationState> load(Path stateFile) {
+        if(!Files.isRegularFile(stateFile)) {
+            return Optional.empty();
+        }
+        try(Reader reader = Files.newBufferedReader(stateFile, StandardCharsets.UTF_8)) {
+            var properties = new Properties();
+            properties.load(reader);
+            var state = new ValidationState();
+            state.fingerprint = requireNonNull(properties.getProperty(FINGERPRINT_KEY));
+            var messagesCount = Integer.parseInt(properties.getProperty(MESSAGES_COUNT_KEY));
+            for(int i = 0; i < messagesCount; ++i) {
+                var prefix = "message." + i + ".";
+                state.messages.add(new Message.Builder()
+                        .type(ValidationMessageType.valueOf(properties.getProperty(prefix + "type")))
+                        .sourceId(requireNonNull(properties.getProperty(prefix + "source")))
+                        .line(Integer.parseInt(properties.getProperty(prefix + "line")))
+                        .text(requireNonNull(properties.getProperty(prefix + "text")))
+                        .build());
+            }
+            return Optional.of(state);
+        } catch (IOException | RuntimeException e) {
+            return Optional.empty();
+        }
+    }
+
+    private static final String FINGERPRINT_KEY = "fingerprint";
+
+    private static final String MESSAGES_COUNT_KEY = "messages";
+
+    private ValidationState() {
+
+    }
+
+    private String fingerprint;
+
+    public String fingerprint() {
+        return fingerprint;
+    }
+
+    private List<Message> messages = new ArrayList<>();
+
+    public List<Message> messages() {
+        return Collections.unmodifiableList(messages);
+    }
+
+    public boolean hasError() {
+        return messages.stream().anyMatch(message -> message.type() == ValidationMessageType.ERROR);
+    }
+
+    public boolean hasWarning() {
+        return messages.stream().anyMatch(message -> message.type() == ValidationMessageType.WARNING);
+    }
+
+    public void save(Path stateFile) throws IOException {
+        var properties = new Properties();
+        properties.setProperty(FINGERPRINT_KEY, fingerprint);
+        properties.setProperty(MESSAGES_COUNT_KEY, Integer.toString(messages.size()));
+        for(int i = 0; i < messages.size(); ++i) {
+            var prefix = "message." + i + ".";
+            var message = messages.get(i);
+            properties.setProperty(prefix + "type", message.type().name());
+            properties.setProperty(prefix + "source", message.sourceId());
+            properties.setProperty(prefix + "line", Integer.toString(message.line()));
+            properties.setProperty(prefix + "text", message.text());
+        }
+
+        Files.createDirectories(stateFile.getParent());
+        var temporaryFile = Files.createTempFile(stateFile.getParent(), stateFile.getFileName().toString(), ".tmp");
+        try(Writer writer = Files.newBufferedWriter(temporaryFile, StandardCharsets.UTF_8)) {
+            properties.store(writer, null);
+        }
+        Files.move(temporaryFile, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static class Message {
+
+        private ValidationMessageType type;
+
+        public ValidationMessageType type() {
+            return type;
+        }
+
+        private String sourceId;
+
+        public String sourceId() {
+            return sourceId;
+        }
+
+        private int line;
+
+        public int line() {
+            return line;
+        }
+
+        private String text;
+
+        public String text() {
+            return text;
+        }
+
+        public static class Builder {
+
+            private Message message = new Message();
+
+            public Builder type(ValidationMessageType type) {
+                message.type = type;
+                return this;
+            }
+
+            public Builder sourceId(String sourceId) {
+                message.sourceId = sourceId;
+                return this;
+            }
+
+            public Builder line(int line) {
+                message.line = line;
+                return this;
+            }
+
+            public Builder text(String text) {
+                message.text = text;
+                return this;
+            }
+
+            public Message build() {
+                requireNonNull(message.type);
+                requireNonNull(message.sourceId);
+                requireNonNull(message.text);
+                return message;
+            }
+        }
+
+        private Message() {
+
+        }
+    }
+}
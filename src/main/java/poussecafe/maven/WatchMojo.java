@@ -0,0 +1,232 @@
+package poussecafe.maven;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.inject.Inject;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import poussecafe.storage.internal.InternalStorage;
+
+import static java.util.Arrays.asList;
+
+/**
+ * <p>Watches the source code of the project and validates it again each time a source file is changed. The list of
+ * processes is printed after each validation.</p>
+ * <p>Analysis is not incremental: as soon as the content of a source file changed, all sources are validated and the
+ * model is built again. When files are saved without changing their content, last validation and model are reused.</p>
+ * <p>Classes are resolved through the plugin's class realm. Classes compiled while watching are found if they were not
+ * loaded yet, but a class already loaded is not loaded again: after recompiling a class used by validation, restart
+ * the goal.</p>
+ * <p>Validation messages never make the build fail, the goal runs until Maven is interrupted (e.g. with Ctrl-C) or
+ * until watchDuration elapsed.</p>
+ */
+@Mojo(
+    name = "watch",
+    requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME,
+    requiresDependencyCollection = ResolutionScope.COMPILE_PLUS_RUNTIME,
+    requiresDirectInvocation = true
+)
+public class WatchMojo extends AbstractSourceAnalysisMojo {
+
+    @Override
+    public void execute() throws MojoExecutionException, MojoFailureException {
+        List<Path> sourceRoots = new ArrayList<>();
+        for(String pathName : project().getCompileSourceRoots()) {
+            Path path = Path.of(pathName);
+            if(path.toFile().isDirectory()) {
+                sourceRoots.add(path);
+            }
+        }
+
+        try(var watchService = FileSystems.getDefault().newWatchService()) {
+            Map<WatchKey, Path> watchedDirectories = new HashMap<>();
+            for(Path sourceRoot : sourceRoots) {
+                registerTree(watchService, sourceRoot, watchedDirectories);
+            }
+
+            analyze(sourceRoots);
+            getLog().info("Watching " + sourceRoots.size() + " source root(s), press Ctrl-C to stop");
+            var deadline = System.currentTimeMillis() + watchDuration;
+            while(!Thread.currentThread().isInterrupted()) {
+                var key = nextKey(watchService, deadline);
+                if(key == null) {
+                    getLog().info("Stopped watching after " + watchDuration + " ms");
+                    break;
+                }
+                var changed = pollEvents(watchService, key, watchedDirectories);
+                if(changed) {
+                    modelOperations.invalidateModel(session, project());
+                    analyze(sourceRoots);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Watch stopped
+        } catch (IOException e) {
+            throw new MojoExecutionException("Unable to watch source roots", e);
+        }
+    }
+
+    /**
+     * @return The next signaled key or null if watch duration elapsed.
+     */
+    private WatchKey nextKey(WatchService watchService, long deadline) throws InterruptedException {
+        if(watchDuration <= 0) {
+            return watchService.take();
+        }
+        var remaining = deadline - System.currentTimeMillis();
+        if(remaining <= 0) {
+            return null;
+        }
+        return watchService.poll(remaining, TimeUnit.MILLISECONDS);
+    }
+
+    private void registerTree(WatchService watchService, Path root, Map<WatchKey, Path> watchedDirectories)
+            throws IOException {
+        Files.walkFileTree(root, new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path directory, BasicFileAttributes attributes) throws IOException {
+                var key = directory.register(watchService,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY,
+                        StandardWatchEventKinds.ENTRY_DELETE);
+                watchedDirectories.put(key, directory);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    /**
+     * Consumes the events of given key as well as the events received during the quiet period following them, so
+     * that saving several files at once triggers a single analysis.
+     *
+     * @return True if a Java source file was changed, or a directory created or deleted.
+     */
+    private boolean pollEvents(WatchService watchService, WatchKey firstKey, Map<WatchKey, Path> watchedDirectories)
+            throws IOException, InterruptedException {
+        var changed = false;
+        var key = firstKey;
+        while(key != null) {
+            var directory = watchedDirectories.get(key);
+            for(var event : key.pollEvents()) {
+                if(event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    changed = true;
+                } else if(directory != null) {
+                    var path = directory.resolve((Path) event.context());
+                    if(event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(path)) {
+                        registerTree(watchService, path, watchedDirectories);
+                        changed = true;
+                    } else if(path.toString().endsWith(".java")
+                            || event.kind() == StandardWatchEventKinds.ENTRY_DELETE) {
+                        changed = true;
+                    }
+                }
+            }
+            if(!key.reset()) {
+                watchedDirectories.remove(key);
+            }
+            key = watchService.poll(quietPeriod, TimeUnit.MILLISECONDS);
+        }
+        return changed;
+    }
+
+    /**
+     * Class realm and classpath index are refreshed before each analysis so that new classpath elements and classes
+     * compiled since the goal started are indexed. Already loaded classes are not reloaded. A failing analysis is
+     * logged and does not stop the goal.
+     */
+    private void analyze(List<Path> sourceRoots) {
+        var log = getLog();
+        var start = System.currentTimeMillis();
+        try(var recording = phaseRecorder.start(log, "watch", project(), reportTimings())) {
+            classPathConfigurator.configureClassPath(project(), descriptor());
+            var configuration = ValidationConfiguration.builder()
+                    .basePackages(asList(basePackages))
+                    .storageAdapters(asList(storageAdapters))
+                    .incremental(true)
+                    .workers(workers())
+                    .build();
+            var state = validationOperations.validate(log, configuration, sourceRoots, List.of(project()),
+                    descriptor(), ModelOperations.stateDirectory(project()));
+            try {
+                validationOperations.report(log, state, false);
+            } catch (MojoFailureException e) {
+                // Errors were already reported, keep watching
+            }
+
+            var model = modelOperations.buildModelFromSource(log, project(), sourceAnalysisConfiguration());
+            modelOperations.listProcesses(log, model);
+            log.info("Analyzed sources in " + (System.currentTimeMillis() - start) + " ms");
+        } catch (MojoExecutionException | RuntimeException e) {
+            log.error("Unable to analyze sources", e);
+        }
+    }
+
+    @Inject
+    private ClassPathConfigurator classPathConfigurator;
+
+    @Inject
+    private ValidationOperations validationOperations;
+
+    @Inject
+    private ModelOperations modelOperations;
+
+    @Inject
+    private PhaseRecorder phaseRecorder;
+
+    /**
+     * Base packages used for classpath exploration when validating, see <a href="./validate-mojo.html">validate</a>
+     * goal.
+     *
+     * @since 0.24
+     */
+    @Parameter(defaultValue = "", property = "basePackages")
+    private String[] basePackages;
+
+    /**
+     * List of storage types validators to use, see <a href="./validate-mojo.html">validate</a> goal.
+     *
+     * @since 0.24
+     */
+    @Parameter(defaultValue = InternalStorage.NAME, property = "storageAdapters", required = true)
+    private String[] storageAdapters;
+
+    /**
+     * The time in milliseconds without further file change to wait for before analyzing sources again.
+     *
+     * @since 0.24
+     */
+    @Parameter(defaultValue = "100", property = "quietPeriod")
+    private long quietPeriod;
+
+    /**
+     * The time in milliseconds after which the goal stops watching sources. By default, sources are watched until
+     * Maven is interrupted.
+     *
+     * @since 0.24
+     */
+    @Parameter(defaultValue = "0", property = "watchDuration")
+    private long watchDuration;
+
+    @Parameter(defaultValue = "${session}", readonly = true)
+    private MavenSession session;
+}
@@ -0,0 +1,125 @@
+package poussecafe.maven;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ClassPathIndexTest {
+
+    @Before
+    public void createDirectory() throws IOException {
+        root = Files.createTempDirectory("classpath-index-test");
+        classesDirectory = root.resolve("classes");
+        givenFile(classesDirectory.resolve("com/example/domain/Aggregate.class"));
+        archive = root.resolve("library.jar");
+        try(var output = new ZipOutputStream(Files.newOutputStream(archive))) {
+            output.putNextEntry(new ZipEntry("org/library/Library.class"));
+            output.closeEntry();
+        }
+    }
+
+    private Path root;
+
+    private Path classesDirectory;
+
+    private Path archive;
+
+    private void givenFile(Path file) throws IOException {
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[] { 0 });
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        TestFiles.deleteTree(root);
+    }
+
+    @Test
+    public void providedPackagesAreIndexed() throws IOException {
+        var index = index(Optional.empty());
+
+        assertTrue(index.providesPackageTree("com.example"));
+        assertTrue(index.providesPackageTree("org.library"));
+        assertFalse(index.providesPackageTree("com.other"));
+    }
+
+    private ClassPathIndex index(Optional<ClassPathIndex> previous) throws IOException {
+        return new ClassPathIndex.Builder()
+                .previous(previous)
+                .indexPackages(true)
+                .includeElement(classesDirectory.toString())
+                .includeElement(archive.toString())
+                .build();
+    }
+
+    @Test
+    public void classesOfUnknownPackagesAreNotProvided() throws IOException {
+        var index = index(Optional.empty());
+
+        assertTrue(index.mayProvideClass("com.example.domain.Aggregate"));
+        assertTrue(index.mayProvideClass("com.example.domain.Aggregate.Attributes"));
+        assertTrue(index.mayProvideClass("java.util.List"));
+        assertTrue(index.mayProvideClass("DefaultPackageClass"));
+        assertFalse(index.mayProvideClass("com.example.Aggregate"));
+        assertFalse(index.mayProvideClass("com.other.Aggregate"));
+    }
+
+    @Test
+    public void unindexedElementsMayProvideAnyClass() throws IOException {
+        var index = new ClassPathIndex.Builder()
+                .indexPackages(false)
+                .includeElement(classesDirectory.toString())
+                .build();
+
+        assertTrue(index.mayProvideClass("com.other.Aggregate"));
+        assertTrue(index.providesPackageTree("com.other"));
+    }
+
+    @Test
+    public void savedIndexIsReloaded() throws IOException {
+        var index = index(Optional.empty());
+        var indexFile = root.resolve("state/index.properties");
+        index.save(indexFile);
+
+        var loadedIndex = ClassPathIndex.load(indexFile);
+        assertTrue(loadedIndex.isPresent());
+        assertEquals(index.elements(), loadedIndex.get().elements());
+        assertEquals(index.fingerprint(), loadedIndex.get().fingerprint());
+        assertFalse(loadedIndex.get().mayProvideClass("com.other.Aggregate"));
+    }
+
+    @Test
+    public void fingerprintChangesWithElementContent() throws IOException {
+        var index = index(Optional.empty());
+        givenFile(classesDirectory.resolve("com/example/domain/Other.class"));
+
+        var newIndex = index(Optional.of(index));
+        assertNotEquals(index.fingerprint(), newIndex.fingerprint());
+        assertEquals(List.of(classesDirectory.toString(), archive.toString()), newIndex.elements());
+    }
+
+    @Test
+    public void selectedFingerprintOnlyDependsOnSelectedElements() throws IOException {
+        var index = index(Optional.empty());
+        var selectedElements = List.of(classesDirectory.toString());
+        Files.write(archive, new byte[] { 1, 2, 3 });
+
+        var newIndex = index(Optional.of(index));
+        assertNotEquals(index.fingerprint(), newIndex.fingerprint());
+        assertEquals(index.fingerprint(selectedElements), newIndex.fingerprint(selectedElements));
+        assertNotEquals(index.fingerprint(selectedElements),
+                index.fingerprint(List.of(classesDirectory.toString(), root.resolve("other.jar").toString())));
+    }
+}
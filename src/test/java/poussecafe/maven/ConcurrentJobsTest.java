@@ -0,0 +1,79 @@
+package poussecafe.maven;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConcurrentJobsTest {
+
+    @Test
+    public void singleWorkerRunsJobsInOrderOnSubmittingThread() throws MojoExecutionException {
+        List<String> runs = new ArrayList<>();
+        var submittingThread = Thread.currentThread();
+        try(var jobs = new ConcurrentJobs(1)) {
+            for(String name : List.of("a", "b", "c")) {
+                jobs.submit(name, () -> {
+                    assertEquals(submittingThread, Thread.currentThread());
+                    runs.add(name);
+                });
+            }
+            jobs.join("Jobs failed");
+        }
+        assertEquals(List.of("a", "b", "c"), runs);
+    }
+
+    @Test
+    public void allJobsRunOnSeveralWorkers() throws MojoExecutionException {
+        List<Integer> runs = Collections.synchronizedList(new ArrayList<>());
+        try(var jobs = new ConcurrentJobs(4)) {
+            for(int i = 0; i < 20; ++i) {
+                var job = i;
+                jobs.submit("job " + i, () -> runs.add(job));
+            }
+            jobs.join("Jobs failed");
+        }
+        assertEquals(20, runs.size());
+    }
+
+    @Test
+    public void failuresAreReportedOnceAllJobsCompleted() {
+        for(int workers : List.of(1, 4)) {
+            var completedJobs = new AtomicInteger();
+            try(var jobs = new ConcurrentJobs(workers)) {
+                jobs.submit("first", () -> {
+                    throw new IllegalStateException("first failure");
+                });
+                jobs.submit("second", completedJobs::incrementAndGet);
+                jobs.submit("third", () -> {
+                    throw new IllegalStateException("third failure");
+                });
+                jobs.join("Jobs failed");
+                fail("Join should have failed");
+            } catch (MojoExecutionException e) {
+                assertEquals(1, completedJobs.get());
+                assertTrue(e.getMessage().startsWith("Jobs failed:"));
+                assertTrue(e.getMessage().contains("first: java.lang.IllegalStateException: first failure"));
+                assertTrue(e.getMessage().contains("third: java.lang.IllegalStateException: third failure"));
+                assertFalse(e.getMessage().contains("second"));
+                assertEquals(2, e.getSuppressed().length);
+            }
+        }
+    }
+
+    @Test
+    public void workersMustBePositive() {
+        try(var jobs = new ConcurrentJobs(0)) {
+            fail("Workers should have been rejected");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains("strictly positive"));
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package poussecafe.maven;
+
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MergedElementsTest {
+
+    @Test
+    public void equalDefinitionsAreKeptOnce() {
+        var elements = new MergedElements<String>("Command");
+        elements.add("B", "definition of B", "b.emil");
+        elements.add("A", "definition of A", "a.emil");
+        elements.add("B", "definition of B", "a.emil");
+
+        assertEquals(List.of("definition of B", "definition of A"), elements.elements());
+        assertTrue(elements.conflicts().isEmpty());
+    }
+
+    @Test
+    public void differentDefinitionsAreConflicts() {
+        var elements = new MergedElements<String>("Command");
+        elements.add("A", "definition of A", "a.emil");
+        elements.add("A", "other definition of A", "b.emil");
+
+        assertEquals(List.of("definition of A"), elements.elements());
+        assertEquals(List.of("Command A is defined differently in a.emil and b.emil"), elements.conflicts());
+    }
+}
@@ -0,0 +1,72 @@
+package poussecafe.maven;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ProcessIndexTest {
+
+    @Before
+    public void createDirectory() throws IOException {
+        root = Files.createTempDirectory("process-index-test");
+        indexFile = root.resolve("state/processes.properties");
+        Files.createDirectories(indexFile.getParent());
+    }
+
+    private Path root;
+
+    private Path indexFile;
+
+    @After
+    public void deleteDirectory() throws IOException {
+        TestFiles.deleteTree(root);
+    }
+
+    @Test
+    public void savedIndexIsLoaded() throws IOException {
+        Files.writeString(indexFile, "fingerprint=abc\nprocesses=Billing,Shipping\n");
+        var index = ProcessIndex.load(indexFile).orElseThrow();
+        var savedFile = root.resolve("saved/processes.properties");
+        index.save(savedFile);
+
+        var loadedIndex = ProcessIndex.load(savedFile);
+        assertTrue(loadedIndex.isPresent());
+        assertEquals("abc", loadedIndex.get().fingerprint());
+        assertEquals(List.of("Billing", "Shipping"), loadedIndex.get().processNames());
+        assertEquals(1, filesIn(savedFile.getParent()));
+    }
+
+    private long filesIn(Path directory) throws IOException {
+        try(var stream = Files.list(directory)) {
+            return stream.count();
+        }
+    }
+
+    @Test
+    public void modelWithoutProcessIsLoaded() throws IOException {
+        Files.writeString(indexFile, "fingerprint=abc\nprocesses=\n");
+
+        var index = ProcessIndex.load(indexFile);
+        assertTrue(index.isPresent());
+        assertTrue(index.get().processNames().isEmpty());
+    }
+
+    @Test
+    public void missingOrMalformedIndexIsIgnored() throws IOException {
+        assertFalse(ProcessIndex.load(indexFile).isPresent());
+
+        Files.writeString(indexFile, "processes=Billing\n");
+        assertFalse(ProcessIndex.load(indexFile).isPresent());
+
+        Files.writeString(indexFile, "fingerprint=abc\n");
+        assertFalse(ProcessIndex.load(indexFile).isPresent());
+    }
+}
@@ -0,0 +1,194 @@
+package poussecafe.maven;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SourceDirectoryStagingTest {
+
+    @Before
+    public void createDirectories() throws IOException {
+        root = Files.createTempDirectory("staging-test");
+        sourceDirectory = root.resolve("src");
+        stagingRoot = root.resolve("staging");
+        Files.createDirectories(sourceDirectory);
+    }
+
+    private Path root;
+
+    private Path sourceDirectory;
+
+    private Path stagingRoot;
+
+    @After
+    public void deleteDirectories() throws IOException {
+        TestFiles.deleteTree(root);
+    }
+
+    @Test
+    public void commitWritesCreatedAndModifiedFilesOnly() throws IOException {
+        givenSourceFile("a/A.java", "class A {}");
+        givenSourceFile("b/B.java", "class B {}");
+        try(var staging = SourceDirectoryStaging.stage(sourceDirectory, stagingRoot)) {
+            writeStagedFile(staging, "a/A.java", "class A { int a; }");
+            writeStagedFile(staging, "c/C.java", "class C {}");
+
+            var changes = staging.changes();
+            assertEquals(List.of(Path.of("c/C.java")), changes.createdFiles());
+            assertEquals(List.of(Path.of("a/A.java")), changes.modifiedFiles());
+            assertEquals(1, changes.unchangedFiles());
+            assertTrue(staging.directChanges().isEmpty());
+
+            staging.commit(changes);
+            assertEquals("class A { int a; }", sourceContent("a/A.java"));
+            assertEquals("class B {}", sourceContent("b/B.java"));
+            assertEquals("class C {}", sourceContent("c/C.java"));
+            assertFalse(Files.exists(staging.backupDirectory()));
+        }
+    }
+
+    private void givenSourceFile(String relativePath, String content) throws IOException {
+        var file = sourceDirectory.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private void writeStagedFile(SourceDirectoryStaging staging, String relativePath, String content)
+            throws IOException {
+        var file = staging.stagingDirectory().resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+    }
+
+    private String sourceContent(String relativePath) throws IOException {
+        return Files.readString(sourceDirectory.resolve(relativePath));
+    }
+
+    @Test
+    public void stagingAgainOnlyCopiesChangedFiles() throws IOException {
+        givenSourceFile("a/A.java", "class A {}");
+        givenSourceFile("b/B.java", "class B {}");
+        try(var staging = SourceDirectoryStaging.stage(sourceDirectory, stagingRoot)) {
+            assertEquals(2, staging.copiedFiles());
+        }
+
+        givenSourceFile("b/B.java", "class B { int b; }");
+        Files.delete(sourceDirectory.resolve("a/A.java"));
+        try(var staging = SourceDirectoryStaging.stage(sourceDirectory, stagingRoot)) {
+            assertEquals(1, staging.copiedFiles());
+            assertEquals(1, staging.stagedFiles());
+            assertFalse(Files.exists(staging.stagingDirectory().resolve("a/A.java")));
+            assertEquals("class B { int b; }", Files.readString(staging.stagingDirectory().resolve("b/B.java")));
+        }
+    }
+
+    @Test
+    public void directChangesAreReported() throws IOException {
+        givenSourceFile("a/A.java", "class A {}");
+        try(var staging = SourceDirectoryStaging.stage(sourceDirectory, stagingRoot)) {
+            givenSourceFile("a/A.java", "class A { int a; }");
+            givenSourceFile("b/B.java", "class B {}");
+
+            assertEquals(List.of(Path.of("a/A.java"), Path.of("b/B.java")), staging.directChanges());
+        }
+    }
+
+    @Test
+    public void failedCommitIsRolledBack() throws IOException {
+        givenSourceFile("a/A.java", "class A {}");
+        var fileMove = new FailingFileMove(sourceDirectory.resolve("c/C.java"), 1);
+        try(var staging = SourceDirectoryStaging.stage(sourceDirectory, stagingRoot, fileMove)) {
+            writeStagedFile(staging, "a/A.java", "class A { int a; }");
+            writeStagedFile(staging, "b/B.java", "class B {}");
+            writeStagedFile(staging, "c/C.java", "class C {}");
+
+            try {
+                staging.commit(staging.changes());
+                fail("Commit should have failed");
+            } catch (IOException e) {
+                assertEquals("class A {}", sourceContent("a/A.java"));
+                assertFalse(Files.exists(sourceDirectory.resolve("b/B.java")));
+                assertFalse(Files.exists(sourceDirectory.resolve("c/C.java")));
+                assertFalse(Files.exists(staging.backupDirectory()));
+            }
+        }
+    }
+
+    private static class FailingFileMove implements SourceDirectoryStaging.FileMove {
+
+        /**
+         * @param failingMove The rank of the move to failing target which fails, starting at 1.
+         */
+        FailingFileMove(Path failingTarget, int failingMove) {
+            this.failingTarget = failingTarget;
+            this.failingMove = failingMove;
+        }
+
+        private Path failingTarget;
+
+        private int failingMove;
+
+        List<Path> targets = new ArrayList<>();
+
+        @Override
+        public void move(Path file, Path target) throws IOException {
+            targets.add(target);
+            if(target.equals(failingTarget) && --failingMove == 0) {
+                throw new IOException("Unable to move " + file + " to " + target);
+            }
+            Files.move(file, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    @Test
+    public void failedRollbackKeepsBackup() throws IOException {
+        givenSourceFile("a/A.java", "class A {}");
+        var fileMove = new FailingFileMove(sourceDirectory.resolve("a/A.java"), 2);
+        try(var staging = SourceDirectoryStaging.stage(sourceDirectory, stagingRoot, fileMove)) {
+            writeStagedFile(staging, "a/A.java", "class A { int a; }");
+            writeStagedFile(staging, "b/B.java", "class B {}");
+            var changes = staging.changes();
+            givenSourceFile("b", "not a directory");
+
+            try {
+                staging.commit(changes);
+                fail("Commit should have failed");
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains(staging.backupDirectory().toString()));
+                assertEquals("class A {}", Files.readString(staging.backupDirectory().resolve("a/A.java")));
+            }
+        }
+
+        try(var staging = SourceDirectoryStaging.stage(sourceDirectory, stagingRoot)) {
+            assertTrue(Files.exists(staging.backupDirectory()));
+            try {
+                staging.commit(staging.changes());
+                fail("Commit should be refused while a backup is left");
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains(staging.backupDirectory().toString()));
+            }
+        }
+    }
+
+    @Test
+    public void pendingFilesKeepTheirName() throws IOException {
+        var fileMove = new FailingFileMove(sourceDirectory.resolve("none"), 0);
+        try(var staging = SourceDirectoryStaging.stage(sourceDirectory, stagingRoot, fileMove)) {
+            writeStagedFile(staging, "META-INF/services/Service", "Implementation");
+            staging.commit(staging.changes());
+            assertEquals("Implementation", sourceContent("META-INF/services/Service"));
+            assertEquals(List.of(sourceDirectory.resolve("META-INF/services/Service")), fileMove.targets);
+        }
+    }
+}
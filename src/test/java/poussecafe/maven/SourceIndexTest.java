@@ -0,0 +1,149 @@
+package poussecafe.maven;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SourceIndexTest {
+
+    @Before
+    public void createDirectory() throws IOException {
+        root = Files.createTempDirectory("source-index-test");
+        sourceDirectory = root.resolve("src");
+        givenSourceFile("a/A.java", "class A {}");
+        givenSourceFile("b/B.java", "class B {}");
+    }
+
+    private Path root;
+
+    private Path sourceDirectory;
+
+    private Path givenSourceFile(String relativePath, String content) throws IOException {
+        var file = sourceDirectory.resolve(relativePath);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, content);
+        return file;
+    }
+
+    @After
+    public void deleteDirectory() throws IOException {
+        TestFiles.deleteTree(root);
+    }
+
+    @Test
+    public void filesOfIncludedTreesAreIndexed() throws IOException {
+        var index = index(Optional.empty(), PLUGIN_VERSION, 1);
+
+        assertEquals(Set.of(key("a/A.java"), key("b/B.java")), index.files());
+        assertEquals(Optional.of(Digests.hash(sourceDirectory.resolve("a/A.java"))), index.hash(key("a/A.java")));
+    }
+
+    private SourceIndex index(Optional<SourceIndex> previous, String pluginVersion, int workers) throws IOException {
+        return new SourceIndex.Builder()
+                .previous(previous)
+                .pluginVersion(pluginVersion)
+                .workers(workers)
+                .includeTree(sourceDirectory)
+                .build();
+    }
+
+    private static final String PLUGIN_VERSION = "1.0";
+
+    private String key(String relativePath) {
+        return sourceDirectory.resolve(relativePath).toAbsolutePath().normalize().toString();
+    }
+
+    @Test
+    public void indexDoesNotDependOnWorkers() throws IOException {
+        var sequentialIndex = index(Optional.empty(), PLUGIN_VERSION, 1);
+        var parallelIndex = index(Optional.empty(), PLUGIN_VERSION, 4);
+
+        assertEquals(sequentialIndex.files(), parallelIndex.files());
+        assertEquals(sequentialIndex.fingerprint(), parallelIndex.fingerprint());
+    }
+
+    @Test
+    public void changesAreDetected() throws IOException {
+        var previous = index(Optional.empty(), PLUGIN_VERSION, 1);
+        givenSourceFile("a/A.java", "class A { int a; }");
+        givenSourceFile("c/C.java", "class C {}");
+        Files.delete(sourceDirectory.resolve("b/B.java"));
+
+        var index = index(Optional.of(previous), PLUGIN_VERSION, 1);
+        assertEquals(Set.of(key("a/A.java"), key("c/C.java")), index.changedFiles(previous));
+        assertEquals(Set.of(key("b/B.java")), index.deletedFiles(previous));
+        assertNotEquals(previous.fingerprint(), index.fingerprint());
+    }
+
+    @Test
+    public void unchangedFilesKeepFingerprint() throws IOException {
+        var previous = index(Optional.empty(), PLUGIN_VERSION, 1);
+
+        var index = index(Optional.of(previous), PLUGIN_VERSION, 1);
+        assertTrue(index.changedFiles(previous).isEmpty());
+        assertTrue(index.deletedFiles(previous).isEmpty());
+        assertEquals(previous.fingerprint(), index.fingerprint());
+    }
+
+    @Test
+    public void hashIsReusedWhenAttributesDidNotChange() throws IOException {
+        var file = sourceDirectory.resolve("a/A.java");
+        var previous = index(Optional.empty(), PLUGIN_VERSION, 1);
+        var lastModified = Files.getLastModifiedTime(file);
+        Files.writeString(file, "class Z {}");
+        Files.setLastModifiedTime(file, lastModified);
+
+        var index = index(Optional.of(previous), PLUGIN_VERSION, 1);
+        assertEquals(previous.hash(key("a/A.java")), index.hash(key("a/A.java")));
+    }
+
+    @Test
+    public void pluginVersionChangesFingerprint() throws IOException {
+        var index = index(Optional.empty(), PLUGIN_VERSION, 1);
+        var otherVersionIndex = index(Optional.empty(), "2.0", 1);
+
+        assertNotEquals(index.fingerprint(), otherVersionIndex.fingerprint());
+    }
+
+    @Test
+    public void savedIndexIsLoaded() throws IOException {
+        var index = index(Optional.empty(), PLUGIN_VERSION, 1);
+        var indexFile = root.resolve("state/source-index.properties");
+        index.save(indexFile);
+
+        var loadedIndex = SourceIndex.load(indexFile);
+        assertTrue(loadedIndex.isPresent());
+        assertEquals(PLUGIN_VERSION, loadedIndex.get().pluginVersion());
+        assertEquals(index.files(), loadedIndex.get().files());
+        assertEquals(index.fingerprint(), loadedIndex.get().fingerprint());
+        assertEquals(1, filesIn(indexFile.getParent()));
+    }
+
+    private long filesIn(Path directory) throws IOException {
+        try(var stream = Files.list(directory)) {
+            return stream.count();
+        }
+    }
+
+    @Test
+    public void missingOrMalformedIndexIsIgnored() throws IOException {
+        var indexFile = root.resolve("source-index.properties");
+        assertFalse(SourceIndex.load(indexFile).isPresent());
+
+        Files.writeString(indexFile, "plugin.version=1.0\n/src/A.java=12\n");
+        assertFalse(SourceIndex.load(indexFile).isPresent());
+
+        Files.writeString(indexFile, "/src/A.java=12,0,abc\n");
+        assertFalse(SourceIndex.load(indexFile).isPresent());
+    }
+}
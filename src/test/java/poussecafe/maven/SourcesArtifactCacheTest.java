@@ -0,0 +1,135 @@
+package poussecafe.maven;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class SourcesArtifactCacheTest {
+
+    @Before
+    public void createDirectories() throws IOException {
+        root = Files.createTempDirectory("sources-cache-test");
+        cacheDirectory = root.resolve("cache");
+        cache = new SourcesArtifactCache(cacheDirectory);
+    }
+
+    private Path root;
+
+    private Path cacheDirectory;
+
+    private SourcesArtifactCache cache;
+
+    @After
+    public void deleteDirectories() throws IOException {
+        TestFiles.deleteTree(root);
+    }
+
+    @Test
+    public void javaFilesAreExtracted() throws IOException {
+        var archive = givenArchive("library-sources.jar", "org/library/Library.java", "META-INF/MANIFEST.MF");
+
+        var extractedSources = cache.extractedSources(COORDINATES, archive);
+        assertTrue(Files.isRegularFile(extractedSources.resolve("org/library/Library.java")));
+        assertFalse(Files.exists(extractedSources.resolve("META-INF/MANIFEST.MF")));
+        assertEquals(List.of(extractedSources), cacheEntries());
+    }
+
+    private Path givenArchive(String fileName, String... entries) throws IOException {
+        var archive = root.resolve(fileName);
+        try(var output = new ZipOutputStream(Files.newOutputStream(archive))) {
+            for(String entry : entries) {
+                output.putNextEntry(new ZipEntry(entry));
+                output.write(entry.getBytes());
+                output.closeEntry();
+            }
+        }
+        return archive;
+    }
+
+    private static final String COORDINATES = "org.library:library:sources:1.0";
+
+    private List<Path> cacheEntries() throws IOException {
+        try(var stream = Files.list(cacheDirectory)) {
+            return stream.collect(Collectors.toList());
+        }
+    }
+
+    @Test
+    public void extractedSourcesAreReused() throws IOException {
+        var archive = givenArchive("library-sources.jar", "org/library/Library.java");
+        var extractedSources = cache.extractedSources(COORDINATES, archive);
+        var extractedFile = extractedSources.resolve("org/library/Library.java");
+        Files.writeString(extractedFile, "reused");
+
+        assertEquals(extractedSources, cache.extractedSources(COORDINATES, archive));
+        assertEquals("reused", Files.readString(extractedFile));
+    }
+
+    @Test
+    public void otherCoordinatesAreExtractedAgain() throws IOException {
+        var archive = givenArchive("library-sources.jar", "org/library/Library.java");
+
+        var extractedSources = cache.extractedSources(COORDINATES, archive);
+        var otherExtractedSources = cache.extractedSources("org.library:library:sources:2.0", archive);
+        assertNotEquals(extractedSources, otherExtractedSources);
+        assertEquals(2, cacheEntries().size());
+    }
+
+    @Test
+    public void entriesOutsideOfTargetDirectoryAreRejected() throws IOException {
+        var archive = givenArchive("malicious-sources.jar", "org/library/Library.java", "../../Escaped.java");
+
+        try {
+            cache.extractedSources(COORDINATES, archive);
+            fail("Extraction should have failed");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("../../Escaped.java"));
+        }
+        assertFalse(Files.exists(root.resolve("Escaped.java")));
+        assertFalse(Files.exists(cacheDirectory.getParent().resolve("Escaped.java")));
+        assertTrue(cacheEntries().isEmpty());
+    }
+
+    @Test
+    public void unusedSourcesAreEvicted() throws IOException {
+        var archive = givenArchive("library-sources.jar", "org/library/Library.java");
+        var unusedSources = cache.extractedSources(COORDINATES, archive);
+        var recentSources = cache.extractedSources("org.library:library:sources:2.0", archive);
+        var now = Instant.now();
+        Files.setLastModifiedTime(unusedSources, FileTime.from(now.minus(31, ChronoUnit.DAYS)));
+        Files.setLastModifiedTime(recentSources, FileTime.from(now.minus(29, ChronoUnit.DAYS)));
+
+        var otherArchive = givenArchive("other-sources.jar", "org/other/Other.java");
+        var otherSources = cache.extractedSources("org.other:other:sources:1.0", otherArchive);
+        assertFalse(Files.exists(unusedSources));
+        assertTrue(Files.exists(recentSources));
+        assertTrue(Files.exists(otherSources));
+    }
+
+    @Test
+    public void usedSourcesAreTouched() throws IOException {
+        var archive = givenArchive("library-sources.jar", "org/library/Library.java");
+        var extractedSources = cache.extractedSources(COORDINATES, archive);
+        var lastUse = Instant.now().minus(2, ChronoUnit.DAYS);
+        Files.setLastModifiedTime(extractedSources, FileTime.from(lastUse));
+
+        cache.extractedSources(COORDINATES, archive);
+        assertTrue(Files.getLastModifiedTime(extractedSources).toInstant().isAfter(lastUse));
+    }
+}
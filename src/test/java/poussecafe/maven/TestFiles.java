@@ -0,0 +1,27 @@
+package poussecafe.maven;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+class TestFiles {
+
+    static void deleteTree(Path directory) throws IOException {
+        if(Files.exists(directory)) {
+            List<Path> paths;
+            try(var stream = Files.walk(directory)) {
+                paths = stream.sorted(Comparator.reverseOrder()).collect(Collectors.toList());
+            }
+            for(Path path : paths) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private TestFiles() {
+
+    }
+}
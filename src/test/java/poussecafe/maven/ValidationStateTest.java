@@ -0,0 +1,94 @@
+package poussecafe.maven;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import poussecafe.source.validation.ValidationMessageType;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ValidationStateTest {
+
+    @Before
+    public void createDirectory() throws IOException {
+        root = Files.createTempDirectory("validation-state-test");
+        stateFile = root.resolve("state/validation.properties");
+        Files.createDirectories(stateFile.getParent());
+    }
+
+    private Path root;
+
+    private Path stateFile;
+
+    @After
+    public void deleteDirectory() throws IOException {
+        TestFiles.deleteTree(root);
+    }
+
+    @Test
+    public void savedStateIsLoaded() throws IOException {
+        givenStateFile(
+                "fingerprint=abc",
+                "messages=2",
+                "message.0.type=WARNING",
+                "message.0.source=/src/A.java",
+                "message.0.line=3",
+                "message.0.text=Unused",
+                "message.1.type=ERROR",
+                "message.1.source=/src/B.java",
+                "message.1.line=7",
+                "message.1.text=Missing\\nfactory");
+        var state = ValidationState.load(stateFile).orElseThrow();
+        var savedFile = root.resolve("saved/validation.properties");
+        state.save(savedFile);
+
+        var loadedState = ValidationState.load(savedFile);
+        assertTrue(loadedState.isPresent());
+        assertEquals("abc", loadedState.get().fingerprint());
+        assertTrue(loadedState.get().hasWarning());
+        assertTrue(loadedState.get().hasError());
+        var messages = loadedState.get().messages();
+        assertEquals(2, messages.size());
+        assertEquals(ValidationMessageType.ERROR, messages.get(1).type());
+        assertEquals("/src/B.java", messages.get(1).sourceId());
+        assertEquals(7, messages.get(1).line());
+        assertEquals("Missing\nfactory", messages.get(1).text());
+    }
+
+    private void givenStateFile(String... lines) throws IOException {
+        Files.writeString(stateFile, String.join("\n", lines) + "\n");
+    }
+
+    @Test
+    public void stateWithoutMessageHasNoErrorNorWarning() throws IOException {
+        givenStateFile("fingerprint=abc", "messages=0");
+
+        var state = ValidationState.load(stateFile).orElseThrow();
+        assertTrue(state.messages().isEmpty());
+        assertFalse(state.hasError());
+        assertFalse(state.hasWarning());
+    }
+
+    @Test
+    public void missingOrMalformedStateIsIgnored() throws IOException {
+        assertFalse(ValidationState.load(stateFile).isPresent());
+
+        givenStateFile("messages=0");
+        assertFalse(ValidationState.load(stateFile).isPresent());
+
+        givenStateFile("fingerprint=abc", "messages=1", "message.0.type=ERROR");
+        assertFalse(ValidationState.load(stateFile).isPresent());
+
+        givenStateFile("fingerprint=abc", "messages=1",
+                "message.0.type=FATAL",
+                "message.0.source=/src/A.java",
+                "message.0.line=3",
+                "message.0.text=Unknown type");
+        assertFalse(ValidationState.load(stateFile).isPresent());
+    }
+}